@@ -0,0 +1,174 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.search.ProjectDocument;
+import com.example.cpms.search.ProjectIntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page (50 ids) of GET /api/projects/active over 1M projects spread over 1000 owners, for one owner
+ * and for an admin: the in-memory {@link ProjectIntervalIndex}, the SQL that findActivePage generates
+ * against a table indexed like projects, and the filter-everything scan clients do today.
+ * The database is an in-process H2 unless -p jdbcUrl= points at a PostgreSQL instance; both
+ * sides return ids only, the page rows are a primary key lookup either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ActiveProjectsBenchmark {
+
+    static final int SIZE = 1_000_000;
+    static final int OWNERS = 1_000;
+    static final int LIMIT = 50;
+    static final LocalDate FROM = Fixtures.ACTIVE_EPOCH.plusDays(540);
+
+    private static final String ACTIVE_SQL = "select id from bench_projects where id > ? and start_date <= ? "
+            + "and (end_date is null or end_date >= ?) order by id limit ?";
+    private static final String ACTIVE_FOR_OWNER_SQL = "select id from bench_projects where id > ? and user_id = ? "
+            + "and start_date <= ? and (end_date is null or end_date >= ?) order by id limit ?";
+
+    // Length of the queried window in days
+    @Param({"1", "30"})
+    public int days;
+
+    @Param("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1")
+    public String jdbcUrl;
+
+    private LocalDate to;
+    private List<ProjectDocument> projects;
+    private ProjectIntervalIndex intervalIndex;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        to = FROM.plusDays(days - 1);
+        projects = Fixtures.datedProjects(SIZE, OWNERS);
+        intervalIndex = new ProjectIntervalIndex();
+        projects.forEach(intervalIndex::put);
+
+        connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists bench_projects");
+            ddl.execute("create table bench_projects (id bigint primary key, user_id bigint not null, "
+                    + "title varchar(255), start_date date, end_date date)");
+            // Same indexes as ProjectEntity
+            ddl.execute("create index idx_bench_user_id_id on bench_projects (user_id, id)");
+            ddl.execute("create index idx_bench_start_end on bench_projects (start_date, end_date)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into bench_projects (id, user_id, title, start_date, end_date) values (?, ?, ?, ?, ?)")) {
+            int batched = 0;
+            for (ProjectDocument project : projects) {
+                insert.setLong(1, project.id());
+                insert.setLong(2, project.ownerId());
+                insert.setString(3, project.title());
+                insert.setDate(4, Date.valueOf(project.startDate()));
+                insert.setDate(5, project.endDate() == null ? null : Date.valueOf(project.endDate()));
+                insert.addBatch();
+                if (++batched % 1_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute(jdbcUrl.startsWith("jdbc:postgresql") ? "analyze bench_projects" : "analyze");
+        }
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists bench_projects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long[] intervalIndexOwner() {
+        return intervalIndex.findActive(1L, FROM, to, 0L, LIMIT);
+    }
+
+    @Benchmark
+    public long[] intervalIndexAdmin() {
+        return intervalIndex.findActive(null, FROM, to, 0L, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> databaseOwner() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(ACTIVE_FOR_OWNER_SQL)) {
+            query.setLong(1, 0L);
+            query.setLong(2, 1L);
+            query.setDate(3, Date.valueOf(to));
+            query.setDate(4, Date.valueOf(FROM));
+            query.setInt(5, LIMIT);
+            return ids(query);
+        }
+    }
+
+    @Benchmark
+    public List<Long> databaseAdmin() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(ACTIVE_SQL)) {
+            query.setLong(1, 0L);
+            query.setDate(2, Date.valueOf(to));
+            query.setDate(3, Date.valueOf(FROM));
+            query.setInt(4, LIMIT);
+            return ids(query);
+        }
+    }
+
+    // What the UI does today: every project of the owner, filtered client side
+    @Benchmark
+    public List<Long> scanOwner() {
+        List<Long> ids = new ArrayList<>(LIMIT);
+        for (ProjectDocument project : projects) {
+            if (project.ownerId() == 1L && !project.startDate().isAfter(to)
+                    && (project.endDate() == null || !project.endDate().isBefore(FROM))) {
+                ids.add(project.id());
+                if (ids.size() == LIMIT) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(PreparedStatement query) throws SQLException {
+        List<Long> ids = new ArrayList<>(LIMIT);
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
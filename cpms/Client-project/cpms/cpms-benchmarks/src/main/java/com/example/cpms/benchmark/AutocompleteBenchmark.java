@@ -0,0 +1,56 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.dto.ClientSuggestion;
+import com.example.cpms.search.ClientAutocomplete;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One autocomplete keystroke against 100k clients spread over 100 owners, for a single owner
+ * and for an admin who sees every owner. Heap footprint is measured by {@link AutocompleteFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AutocompleteBenchmark {
+
+    static final int SIZE = 100_000;
+    static final int OWNERS = 100;
+    static final int LIMIT = 10;
+
+    @Param({"c", "client 12", "company 4"})
+    public String prefix;
+
+    private ClientAutocomplete autocomplete;
+
+    @Setup
+    public void setUp() {
+        autocomplete = new ClientAutocomplete();
+        Fixtures.clientDocuments(SIZE, OWNERS).forEach(autocomplete::put);
+    }
+
+    @Benchmark
+    public List<ClientSuggestion> owner() {
+        return autocomplete.suggest(prefix, 1L, LIMIT);
+    }
+
+    @Benchmark
+    public List<ClientSuggestion> admin() {
+        return autocomplete.suggest(prefix, null, LIMIT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.search.ClientAutocomplete;
+import com.example.cpms.search.ClientDocument;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Retained heap of the client autocomplete index, measured with JOL by walking the object graph.
+ * Prints the size per 100k clients next to a per-owner TreeMap of lower-cased keys, the obvious
+ * alternative. Not a JMH benchmark, run it on its own:
+ * <pre>java -cp target/benchmarks.jar com.example.cpms.benchmark.AutocompleteFootprint [clients] [owners]</pre>
+ */
+public final class AutocompleteFootprint {
+
+    // What ClientAutocomplete keeps per client besides its trie keys
+    private record Entry(long ownerId, String name, String companyName) {
+    }
+
+    private AutocompleteFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int owners = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        List<ClientDocument> documents = Fixtures.clientDocuments(size, owners);
+
+        ClientAutocomplete autocomplete = new ClientAutocomplete();
+        documents.forEach(autocomplete::put);
+
+        // The same payload as ClientAutocomplete: the two lower-cased keys per client, an
+        // id -> (owner, name, company) map holding the same String instances, and a lock.
+        // Only the trie is replaced, so the difference is the trie against the TreeMaps
+        Map<Long, NavigableMap<String, List<Long>>> treeMaps = new HashMap<>();
+        Map<Long, Entry> entries = new HashMap<>();
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        for (ClientDocument doc : documents) {
+            NavigableMap<String, List<Long>> keys = treeMaps.computeIfAbsent(doc.ownerId(), owner -> new TreeMap<>());
+            keys.computeIfAbsent(doc.name().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(doc.id());
+            keys.computeIfAbsent(doc.companyName().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(doc.id());
+            entries.put(doc.id(), new Entry(doc.ownerId(), doc.name(), doc.companyName()));
+        }
+
+        System.out.printf("%,d clients over %,d owners%n", size, owners);
+        report("ClientAutocomplete", GraphLayout.parseInstance(autocomplete).totalSize(), size);
+        report("TreeMap per owner", GraphLayout.parseInstance(treeMaps, entries, lock).totalSize(), size);
+    }
+
+    private static void report(String name, long bytes, int size) {
+        System.out.printf("%-20s %,14d bytes  %,12d bytes per 100k clients  %6.1f bytes per client%n",
+                name, bytes, bytes * 100_000 / size, (double) bytes / size);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.entity.ProjectStatus;
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.search.ClientDocument;
+import com.example.cpms.search.ProjectDocument;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds detached entities shaped like the rows the services read from the database.
+ */
+final class Fixtures {
+
+    // First possible start date of datedProjects, which spread starts over the following three years
+    static final LocalDate ACTIVE_EPOCH = LocalDate.of(2023, 1, 1);
+
+    static final String JWT_SECRET = "d5c6d5356bff603e012b64a982e4c1b0e80101191dd858b0807f2d1fa3c8839a";
+
+    private static final ProjectStatus[] STATUSES = ProjectStatus.values();
+
+    private Fixtures() {
+    }
+
+    static UserEntity user(long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4xq1Eki0kq9fXIdeQ0l0b6a");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    static ClientEntity client(long id, UserEntity owner) {
+        ClientEntity client = new ClientEntity();
+        client.setId(id);
+        client.setName("Client " + id);
+        client.setEmail("client" + id + "@example.com");
+        client.setPhone("+1-555-" + (1000 + id % 9000));
+        client.setCompanyName("Company " + (id % 500));
+        client.setUser(owner);
+        return client;
+    }
+
+    static ProjectEntity project(long id, ClientEntity client) {
+        ProjectEntity project = new ProjectEntity();
+        project.setId(id);
+        project.setTitle("Project " + id);
+        project.setDescription("Description of project " + id + " for " + client.getName());
+        project.setStartDate(LocalDate.of(2024, 1, 1).plusDays(id % 365));
+        project.setEndDate(LocalDate.of(2025, 1, 1).plusDays(id % 365));
+        project.setStatus(STATUSES[(int) (id % STATUSES.length)]);
+        project.setClient(client);
+        project.setUser(client.getUser());
+        return project;
+    }
+
+    // Spreads the projects over a fixed pool of clients, like a dashboard page would see
+    static List<ProjectEntity> projects(int size) {
+        UserEntity owner = user(1);
+        List<ClientEntity> clients = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            clients.add(client(i, owner));
+        }
+        List<ProjectEntity> projects = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            projects.add(project(i, clients.get((int) (i % clients.size()))));
+        }
+        return projects;
+    }
+
+    // Clients spread round-robin over the given number of owners, as the autocomplete index sees them
+    static List<ClientDocument> clientDocuments(int size, int owners) {
+        List<UserEntity> users = new ArrayList<>(owners);
+        for (long i = 1; i <= owners; i++) {
+            users.add(user(i));
+        }
+        List<ClientDocument> documents = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            documents.add(ClientDocument.from(client(i, users.get((int) (i % owners)))));
+        }
+        return documents;
+    }
+
+    // Start dates spread over three years, 1 to 365 days long, one in ten still open; seeded so runs compare
+    static List<ProjectDocument> datedProjects(int size, int owners) {
+        Random random = new Random(42);
+        List<ProjectDocument> documents = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            LocalDate start = ACTIVE_EPOCH.plusDays(random.nextInt(3 * 365));
+            LocalDate end = (random.nextInt(10) == 0) ? null : start.plusDays(random.nextInt(365));
+            documents.add(new ProjectDocument(i, 1 + i % owners, "Project " + i, null, start, end));
+        }
+        return documents;
+    }
+}
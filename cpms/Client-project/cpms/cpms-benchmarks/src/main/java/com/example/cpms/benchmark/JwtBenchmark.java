@@ -0,0 +1,66 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.security.JwtUtil;
+import com.example.cpms.security.ParsedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling done by JwtAuthFilter on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(Fixtures.JWT_SECRET);
+
+        token = jwtUtil.generateToken("user1@example.com", "User 1");
+        userDetails = User.withUsername("user1@example.com").password("unused").roles("USER").build();
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    // What the filter paid per request before parsing once: extractEmail plus validateToken
+    @Benchmark
+    public Boolean filterPathLegacy() {
+        jwtUtil.extractEmail(token);
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    // What JwtAuthFilter does now: one parse, validation reuses the claims
+    @Benchmark
+    public Boolean filterPath() {
+        ParsedToken parsed = jwtUtil.parse(token);
+        return jwtUtil.validateToken(parsed, userDetails);
+    }
+}
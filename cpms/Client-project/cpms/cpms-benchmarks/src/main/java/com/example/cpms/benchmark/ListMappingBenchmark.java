@@ -0,0 +1,70 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.mapper.ProjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapping a 100k-row project list the way the list endpoints do. Scores and
+ * gc.alloc.rate.norm are reported per element thanks to @OperationsPerInvocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@OperationsPerInvocation(ListMappingBenchmark.SIZE)
+public class ListMappingBenchmark {
+
+    static final int SIZE = 100_000;
+
+    private ModelMapper modelMapper;
+    private ProjectMapper projectMapper;
+    private List<ProjectEntity> projects;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        projectMapper = Mappers.getMapper(ProjectMapper.class);
+        projects = Fixtures.projects(SIZE);
+    }
+
+    @Benchmark
+    public List<ProjectResponseDto> modelMapper() {
+        return projects.stream()
+                .map(p -> modelMapper.map(p, ProjectResponseDto.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ProjectResponseDto> fromEntity() {
+        return projects.stream()
+                .map(ProjectResponseDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ProjectResponseDto> mapStruct() {
+        return projects.stream()
+                .map(projectMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.cpms.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load against a running cpms: {@code concurrency} workers each send the next
+ * request as soon as the previous one answers, cycling through {@code paths}. After the warmup it
+ * prints throughput and latency percentiles, so the platform-thread build and the -Pjava21
+ * virtual-thread build can be compared on the same database. Not a JMH benchmark, run it on its own:
+ * <pre>java -cp target/benchmarks.jar com.example.cpms.benchmark.LoadDriver [name=value ...]</pre>
+ * The path {@code login} posts the credentials instead of a GET, to put BCrypt in the mix.
+ */
+public final class LoadDriver {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "url", "http://localhost:8081",
+            "email", "load@example.com",
+            "password", "password123",
+            "concurrency", "200",
+            "warmup", "10",
+            "seconds", "30",
+            "paths", "/api/projects/stats,/api/projects/active?from=2024-01-01&to=2024-12-31");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !DEFAULTS.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Expected one of " + DEFAULTS.keySet() + " as name=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String url = options.get("url");
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.get("warmup"))).toNanos();
+        long measureNanos = Duration.ofSeconds(Long.parseLong(options.get("seconds"))).toNanos();
+        String[] paths = options.get("paths").split(",");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String loginBody = MAPPER.writeValueAsString(Map.of("email", options.get("email"), "password", options.get("password")));
+        String token = login(client, url, loginBody);
+
+        List<HttpRequest> requests = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            requests.add(path.equals("login")
+                    ? loginRequest(url, loginBody)
+                    : HttpRequest.newBuilder(URI.create(url + path)).header("Authorization", "Bearer " + token).GET().build());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            Worker worker = new Worker(client, requests, w, measureFrom, measureUntil);
+            futures.add(workers.submit(() -> {
+                worker.run();
+                return worker;
+            }));
+        }
+
+        long[] latencies = new long[0];
+        Map<String, Integer> failures = new TreeMap<>();
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + worker.count);
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            worker.failures.forEach((reason, n) -> failures.merge(reason, n, Integer::sum));
+        }
+        workers.shutdown();
+
+        Arrays.sort(latencies);
+        double seconds = measureNanos / 1e9;
+        System.out.printf("%d workers, %.0f s measured after %d s warmup against %s%n",
+                concurrency, seconds, Long.parseLong(options.get("warmup")), url);
+        System.out.printf("throughput  %10.1f req/s (%d requests)%n", latencies.length / seconds, latencies.length);
+        System.out.printf("p50         %10.2f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p99         %10.2f ms%n", percentile(latencies, 0.99));
+        System.out.printf("p99.9       %10.2f ms%n", percentile(latencies, 0.999));
+        System.out.printf("max         %10.2f ms%n", latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+        System.out.println("failures    " + (failures.isEmpty() ? "none" : failures));
+    }
+
+    private static String login(HttpClient client, String url, String body) throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(url, body), HttpResponse.BodyHandlers.ofString());
+        JsonNode token = MAPPER.readTree(response.body()).path("data").path("jwtResponse").path("token");
+        if (response.statusCode() != 200 || !token.isTextual()) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return token.asText();
+    }
+
+    private static HttpRequest loginRequest(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Nearest-rank percentile of sorted nanosecond latencies, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1e6;
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final List<HttpRequest> requests;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<String, Integer> failures = new HashMap<>();
+        private long[] latencies = new long[1024];
+        private int count;
+        private int next;
+
+        Worker(HttpClient client, List<HttpRequest> requests, int offset, long measureFrom, long measureUntil) {
+            this.client = client;
+            this.requests = requests;
+            this.next = offset;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        void run() {
+            // Workers start at different paths so the mix is even from the first request
+            while (System.nanoTime() < measureUntil) {
+                HttpRequest request = requests.get(next++ % requests.size());
+                long sent = System.nanoTime();
+                String failure = null;
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 400) {
+                        failure = "HTTP " + status;
+                    }
+                } catch (Exception e) {
+                    failure = e.getClass().getSimpleName();
+                }
+                long received = System.nanoTime();
+                if (sent < measureFrom || received > measureUntil) {
+                    continue;
+                }
+                if (failure != null) {
+                    failures.merge(failure, 1, Integer::sum);
+                } else {
+                    record(received - sent);
+                }
+            }
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.dto.ClientResponseDto;
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.mapper.ClientMapper;
+import com.example.cpms.mapper.ProjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion as done by ClientService and ProjectService for every returned row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private ClientMapper clientMapper;
+    private ProjectMapper projectMapper;
+    private ClientEntity client;
+    private ProjectEntity project;
+
+    @Setup
+    public void setUp() {
+        // Default configuration, as the application used before MapStruct
+        modelMapper = new ModelMapper();
+        clientMapper = Mappers.getMapper(ClientMapper.class);
+        projectMapper = Mappers.getMapper(ProjectMapper.class);
+        client = Fixtures.client(1, Fixtures.user(1));
+        project = Fixtures.project(1, client);
+
+        // Warm the type maps so the first measured call does not include their creation
+        modelMapper.map(client, ClientResponseDto.class);
+        modelMapper.map(project, ProjectResponseDto.class);
+    }
+
+    @Benchmark
+    public ClientResponseDto modelMapperClient() {
+        return modelMapper.map(client, ClientResponseDto.class);
+    }
+
+    @Benchmark
+    public ProjectResponseDto modelMapperProject() {
+        return modelMapper.map(project, ProjectResponseDto.class);
+    }
+
+    @Benchmark
+    public ProjectResponseDto fromEntityProject() {
+        return ProjectResponseDto.fromEntity(project);
+    }
+
+    @Benchmark
+    public ClientResponseDto mapStructClient() {
+        return clientMapper.toDto(client);
+    }
+
+    @Benchmark
+    public ProjectResponseDto mapStructProject() {
+        return projectMapper.toDto(project);
+    }
+}
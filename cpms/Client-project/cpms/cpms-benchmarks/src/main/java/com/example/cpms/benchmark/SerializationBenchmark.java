@@ -0,0 +1,63 @@
+package com.example.cpms.benchmark;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.ProjectResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of the list envelope returned by GET /api/projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<ProjectResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot builds its ObjectMapper through this builder (JavaTimeModule, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProjectResponseDto> dtos = Fixtures.projects(size).stream()
+                .map(ProjectResponseDto::fromEntity)
+                .collect(Collectors.toList());
+        response = ApiResponse.success("Projects retrieved successfully", dtos);
+    }
+
+    // Buffers the whole body, like writeValueAsString in the security handlers
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // Streams to the response, like MappingJackson2HttpMessageConverter does
+    @Benchmark
+    public void toStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.cpms.cache;
+
+import java.util.Set;
+
+/**
+ * Published by OwnerVersionService whenever it bumps owner versions, i.e. on every client or
+ * project write. Applied to {@link ResponseCache} after commit.
+ */
+public record OwnerDataChangedEvent(Set<Long> ownerIds) {
+}
@@ -0,0 +1,150 @@
+package com.example.cpms.cache;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.entity.Role;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.OwnerVersionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of the per-user list endpoints, keyed by scope (the owner, or every owner for
+ * admins), that scope's generation and the request path and parameters. A hit writes the cached
+ * bytes and ETag without touching the database or Jackson.
+ * <p>
+ * Writes invalidate by bumping the generation of every owner they touch, plus the admin scope,
+ * after commit: older entries can no longer be reached, and a response that was built from
+ * pre-commit data was stored under the old generation. Unreachable entries age out of the
+ * byte-bounded cache. Like the search index, this assumes a single application instance.
+ */
+@Component
+public class ResponseCache {
+
+    // Rough per-entry cost of the key, entry and cache node on top of the body bytes
+    private static final int ENTRY_OVERHEAD = 200;
+
+    private record Key(Long ownerId, long generation, String request) {
+    }
+
+    private record Entry(String etag, byte[] body) {
+    }
+
+    private final Cache<Key, Entry> cache;
+    private final Map<Long, AtomicLong> ownerGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong adminGeneration = new AtomicLong();
+    private final OwnerVersionService ownerVersionService;
+    private final ObjectMapper objectMapper;
+
+    public ResponseCache(OwnerVersionService ownerVersionService,
+                         ObjectMapper objectMapper,
+                         @Value("${cpms.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${cpms.response-cache.ttl:10m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.ownerVersionService = ownerVersionService;
+        this.objectMapper = objectMapper;
+        // Caffeine evicts by weight with its LRU/frequency hybrid rather than plain LRU
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.body().length + 2 * key.request().length() + ENTRY_OVERHEAD)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.size, cache.evictions; the bound is in bytes, so those too
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "response");
+        Gauge.builder("cpms.response.cache.weighted.size", this, ResponseCache::weightedSize)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Serves the response from the cache, or from {@code loader} on a miss. Either way a matching
+     * If-None-Match gets 304 (null is returned, the status is already set). Only successful
+     * responses are stored; exceptions from the loader propagate to the exception handler.
+     */
+    public ResponseEntity<byte[]> serve(AuthenticatedUser user, WebRequest request, Supplier<ApiResponse<?>> loader) {
+        Long ownerId = (user.getRole() == Role.ADMIN) ? null : user.getId();
+        // Generation first: a write committing after this point leaves what we build unreachable
+        Key key = new Key(ownerId, generation(ownerId), describe(request));
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            String etag = ownerVersionService.dataEtag(user);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            ApiResponse<?> response = loader.get();
+            entry = new Entry(etag, serialize(response));
+            if (response.isSuccess()) {
+                cache.put(key, entry);
+            }
+            return json(entry);
+        }
+        if (request.checkNotModified(entry.etag())) {
+            return null;
+        }
+        return json(entry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOwnerDataChanged(OwnerDataChangedEvent event) {
+        for (Long ownerId : event.ownerIds()) {
+            ownerGenerations.computeIfAbsent(ownerId, id -> new AtomicLong()).incrementAndGet();
+        }
+        adminGeneration.incrementAndGet();
+    }
+
+    private long weightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    private long generation(Long ownerId) {
+        if (ownerId == null) {
+            return adminGeneration.get();
+        }
+        AtomicLong generation = ownerGenerations.get(ownerId);
+        return (generation == null) ? 0L : generation.get();
+    }
+
+    // Path plus parameters in a stable order, so ?limit=5&cursor=x and ?cursor=x&limit=5 share an entry
+    private static String describe(WebRequest request) {
+        StringBuilder description = new StringBuilder(request.getDescription(false));
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.forEach((name, values) -> description.append('&').append(name).append('=').append(Arrays.toString(values)));
+        return description.toString();
+    }
+
+    private byte[] serialize(ApiResponse<?> response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    // The ETag header was already set by checkNotModified
+    private static ResponseEntity<byte[]> json(Entry entry) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.cpms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most {@code maxConcurrent} callers hold a connection at once, the rest wait in a fair
+ * queue. Sized to the Hikari pool, so thousands of virtual threads park on a semaphore instead of
+ * all contending inside the pool's handoff. A permit is returned when the connection is closed.
+ * The wait for a permit and the wait for a pooled connection share one timeout.
+ */
+public class BoundedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    /** Hands out a target connection, waiting at most the given time. */
+    @FunctionalInterface
+    interface TimedConnectionSource {
+        Connection getConnection(long timeoutMillis) throws SQLException;
+    }
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final TimedConnectionSource connections;
+
+    // A plain DataSource has no per-call timeout, it gets whatever is left of the budget implicitly
+    public BoundedDataSource(DataSource target, int maxConcurrent, long timeoutMillis) {
+        this(target, maxConcurrent, timeoutMillis, remaining -> target.getConnection());
+    }
+
+    BoundedDataSource(DataSource target, int maxConcurrent, long timeoutMillis, TimedConnectionSource connections) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.timeoutMillis = timeoutMillis;
+        this.connections = connections;
+    }
+
+    // Hikari's pool takes a timeout per call, so it only gets what the permit wait left of connectionTimeout
+    public static BoundedDataSource forHikari(HikariDataSource hikari, int maxConcurrent) {
+        return new BoundedDataSource(hikari, maxConcurrent, hikari.getConnectionTimeout(), remaining -> {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            // The pool is started by the first getConnection() on the data source
+            return (pool instanceof HikariPool started) ? started.getConnection(remaining) : hikari.getConnection();
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long remaining = acquire();
+        try {
+            return releasingOnClose(connections.getConnection(remaining));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // The context closes the bean it exposes, so the pool's close has to come through here
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    // Returns what is left of the timeout once the permit is held
+    private long acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database connection available after " + timeoutMillis + "ms");
+            }
+            return Math.max(0, timeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    // Releases the permit on the first close only; identity comes from the proxy, not the target.
+    // unwrap(Connection.class) answers the proxy, so closing the unwrapped connection still releases
+    private Connection releasingOnClose(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : invoke(target, method, args);
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) || (boolean) invoke(target, method, args);
+                    case "close" -> {
+                        try {
+                            yield invoke(target, method, args);
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    default -> invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -46,22 +46,28 @@
 
 package com.example.cpms.config;
 
+import com.example.cpms.security.BoundedPasswordEncoder;
 import com.example.cpms.security.JwtAuthFilter;
+import com.example.cpms.security.PasswordEncoders;
+import com.example.cpms.security.RateLimitFilter;
 import com.example.cpms.dto.ApiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Configuration
@@ -69,11 +75,28 @@ import java.time.LocalDateTime;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final ObjectMapper objectMapper;
 
+    // BCrypt runs on its own bounded pool, 0 threads means half the cores; strength 0 calibrates the cost
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${cpms.password-hashing.threads:0}") int threads,
+            @Value("${cpms.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${cpms.password-hashing.timeout:2s}") Duration timeout,
+            @Value("${cpms.password-hashing.strength:0}") int strength,
+            @Value("${cpms.password-hashing.target-time:100ms}") Duration targetTime,
+            @Value("${cpms.password-hashing.min-strength:10}") int minStrength,
+            @Value("${cpms.password-hashing.max-strength:14}") int maxStrength,
+            MeterRegistry meterRegistry) {
+        // A pinned cost re-hashes everything else; a calibrated one accepts the whole range, so hosts
+        // that calibrate differently don't keep re-hashing each other's users
+        PasswordEncoder bcrypt = (strength > 0)
+                ? PasswordEncoders.create(strength)
+                : PasswordEncoders.create(PasswordEncoders.calibrate(targetTime, minStrength, maxStrength),
+                        minStrength, maxStrength);
+        int poolSize = (threads > 0) ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -88,11 +111,17 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ✅ Allow register and login without token
                         .requestMatchers("/api/auth/**").permitAll()
+                        // ✅ Health checks and Prometheus scrapes carry no token; only mapped on management.server.port
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // ✅ Completion of streamed exports, the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // ✅ All other endpoints require JWT
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // ✅ Per-user request budget, needs the principal set by the JWT filter
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
                 .exceptionHandling(ex -> ex
                         .accessDeniedHandler((request, response, accessDeniedException) -> {
                             response.setContentType("application/json");
@@ -0,0 +1,56 @@
+package com.example.cpms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when spring.threads.virtual.enabled=true on Java 21 (the java21 Maven profile). Every
+ * request then gets its own virtual thread, so nothing caps how many reach the database; the
+ * DataSource is wrapped in a {@link BoundedDataSource} with as many permits as the pool has
+ * connections.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Static: a post-processor must not pull this configuration in early
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${cpms.datasource.max-concurrent:0}") int maxConcurrent) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = (maxConcurrent > 0) ? maxConcurrent : hikari.getMaximumPoolSize();
+                // Waiting for a permit and then for a pooled connection share Hikari's connectionTimeout
+                return BoundedDataSource.forHikari(hikari, permits);
+            }
+        };
+    }
+
+    // Next to the hikaricp.* pool meters: callers let through to the pool and callers waiting for a permit
+    @Bean
+    MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("cpms.datasource.permits.available", bounded, BoundedDataSource::availablePermits)
+                        .description("Database permits not in use")
+                        .register(registry);
+                Gauge.builder("cpms.datasource.waiting", bounded, BoundedDataSource::queueLength)
+                        .description("Callers waiting for a database permit")
+                        .register(registry);
+            }
+        };
+    }
+}
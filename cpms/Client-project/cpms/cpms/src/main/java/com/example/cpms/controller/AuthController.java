@@ -1,14 +1,18 @@
 package com.example.cpms.controller;
 
 import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.JwtResponse;
 import com.example.cpms.dto.LoginRequest;
 import com.example.cpms.dto.LoginResponse;
+import com.example.cpms.dto.RefreshTokenRequest;
 import com.example.cpms.dto.RegisterRequest;
 import com.example.cpms.security.JwtUtil;
+import com.example.cpms.service.TokenService;
 import com.example.cpms.service.UserService;
 import com.example.cpms.dto.UserResponseDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +32,7 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
 
 //    @PostMapping("/register")
 ////    public ResponseEntity<ApiResponse<String>> register(@Valid @RequestBody RegisterRequest request) {
@@ -52,6 +57,22 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.OK.value()).body(apiResponse);
     }
 
+    // New access/refresh pair for a valid refresh token, which is then revoked
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<JwtResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        ApiResponse<JwtResponse> response = tokenService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // Revokes the bearer access token and, when sent, the refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        ApiResponse<String> response = tokenService.logout(authorization, request);
+        return ResponseEntity.ok(response);
+    }
+
 }
 
 
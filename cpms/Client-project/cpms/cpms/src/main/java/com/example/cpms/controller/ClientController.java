@@ -70,17 +70,25 @@
 
 package com.example.cpms.controller;
 
+import com.example.cpms.cache.ResponseCache;
 import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.BulkResult;
 import com.example.cpms.dto.ClientRequest;
 import com.example.cpms.dto.ClientResponseDto;
-import com.example.cpms.entity.UserEntity;
+import com.example.cpms.dto.ClientSuggestion;
+import com.example.cpms.dto.ExportFormat;
+import com.example.cpms.security.AuthenticatedUser;
 import com.example.cpms.service.ClientService;
+import com.example.cpms.service.ExportService;
+import com.example.cpms.service.SearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -90,14 +98,16 @@ import java.util.List;
 public class ClientController {
 
     private final ClientService clientService;
-    private final ModelMapper modelMapper;
+    private final ExportService exportService;
+    private final SearchService searchService;
+    private final ResponseCache responseCache;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ClientResponseDto>> addClient(
             @Valid @RequestBody ClientRequest request,
             Authentication authentication) {
         try {
-            UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+            AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
             ApiResponse<ClientResponseDto> response = clientService.addClient(request, currentUser);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -105,23 +115,70 @@ public class ClientController {
         }
     }
 
+    // Rows are validated one by one, the response reports the outcome of each row
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkResult<ClientResponseDto>>> addClients(
+            @RequestBody List<ClientRequest> requests,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<BulkResult<ClientResponseDto>> response = clientService.addClients(requests, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    // Served as cached JSON bytes per user and page; If-None-Match with the owner's data version gets 304
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ClientResponseDto>>> getAllClients(Authentication authentication) {
+    public ResponseEntity<byte[]> getAllClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
-            UserEntity currentUser = (UserEntity) authentication.getPrincipal();
-            ApiResponse<List<ClientResponseDto>> response = clientService.getAllClients(currentUser);
-            return ResponseEntity.ok(response);
+            AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+            return responseCache.serve(currentUser, webRequest,
+                    () -> clientService.getAllClients(currentUser, cursor, limit));
         } catch (Exception e) {
             throw e;
         }
     }
 
+    // ?q= is matched against the start of the client name or company name, served from memory
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<ClientSuggestion>>> autocompleteClients(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<List<ClientSuggestion>> response = searchService.autocompleteClients(q, limit, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    // Streams every visible client as NDJSON (default) or CSV without loading them into memory
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportClients(currentUser, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clients." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // ETag comes from the version column; a matching If-None-Match gets 304 without loading the client
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ClientResponseDto>> getClientById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
-            UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+            AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+            String etag = clientService.getClientEtag(id, currentUser);
+            // No ETag means not visible, the lookup below reports 403 or 404
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
             ApiResponse<ClientResponseDto> response = clientService.getClientById(id, currentUser);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -129,14 +186,16 @@ public class ClientController {
         }
     }
 
+    // Optional If-Match with the ETag from GET /{id}; a stale one gets 412 instead of overwriting
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ClientResponseDto>> updateClient(
             @PathVariable Long id,
             @Valid @RequestBody ClientRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         try {
-            UserEntity currentUser = (UserEntity) authentication.getPrincipal();
-            ApiResponse<ClientResponseDto> response = clientService.updateClient(id, request, currentUser);
+            AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+            ApiResponse<ClientResponseDto> response = clientService.updateClient(id, request, currentUser, ifMatch);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             throw e;
@@ -148,7 +207,7 @@ public class ClientController {
             @PathVariable Long id,
             Authentication authentication) {
         try {
-            UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+            AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
             ApiResponse<String> response = clientService.deleteClient(id, currentUser);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
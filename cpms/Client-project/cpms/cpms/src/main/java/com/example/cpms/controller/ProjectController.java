@@ -1,16 +1,28 @@
 package com.example.cpms.controller;
 
+import com.example.cpms.cache.ResponseCache;
 import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.BulkResult;
+import com.example.cpms.dto.CursorPage;
+import com.example.cpms.dto.ExportFormat;
+import com.example.cpms.dto.ProjectFilter;
 import com.example.cpms.dto.ProjectRequest;
 import com.example.cpms.dto.ProjectResponseDto;
-import com.example.cpms.entity.UserEntity;
+import com.example.cpms.dto.ProjectStatsDto;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.ExportService;
 import com.example.cpms.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,38 +31,95 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ExportService exportService;
+    private final ResponseCache responseCache;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProjectResponseDto>> addProject(
             @Valid @RequestBody ProjectRequest request,
             Authentication authentication) {
-        UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         ApiResponse<ProjectResponseDto> response = projectService.addProject(request, currentUser);
         return ResponseEntity.ok(response);
     }
 
+    // Rows are validated one by one, the response reports the outcome of each row
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkResult<ProjectResponseDto>>> addProjects(
+            @RequestBody List<ProjectRequest> requests,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<BulkResult<ProjectResponseDto>> response = projectService.addProjects(requests, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    // Cached like the project list; a denied or unknown client is never cached
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<ApiResponse<List<ProjectResponseDto>>> getProjectsByClient(
+    public ResponseEntity<byte[]> getProjectsByClient(
             @PathVariable Long clientId,
+            Authentication authentication,
+            WebRequest webRequest) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        return responseCache.serve(currentUser, webRequest,
+                () -> projectService.getProjectsByClient(clientId, currentUser));
+    }
+
+    // ?status=&clientId=&from=&to= filter, ?cursor=&limit= paginate
+    // Served as cached JSON bytes per user and query; If-None-Match with the owner's data version gets 304
+    @GetMapping
+    public ResponseEntity<byte[]> getAllProjects(
+            ProjectFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication,
+            WebRequest webRequest) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        return responseCache.serve(currentUser, webRequest,
+                () -> projectService.getAllProjects(currentUser, filter, cursor, limit));
+    }
+
+    // ?from=&to= ISO dates; projects whose start..end range overlaps them, an open end date counts as running
+    @GetMapping("/active")
+    public ResponseEntity<ApiResponse<CursorPage<ProjectResponseDto>>> getActiveProjects(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             Authentication authentication) {
-        UserEntity currentUser = (UserEntity) authentication.getPrincipal();
-        ApiResponse<List<ProjectResponseDto>> response = projectService.getProjectsByClient(clientId, currentUser);
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<CursorPage<ProjectResponseDto>> response =
+                projectService.getActiveProjects(currentUser, from, to, cursor, limit);
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping
-    public ResponseEntity<ApiResponse<List<ProjectResponseDto>>> getAllProjects(Authentication authentication) {
-        UserEntity currentUser = (UserEntity) authentication.getPrincipal();
-        ApiResponse<List<ProjectResponseDto>> response = projectService.getAllProjects(currentUser);
+    // Counts per status, client and owner for the dashboard, scoped like the project list
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<ProjectStatsDto>> getProjectStats(Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<ProjectStatsDto> response = projectService.getProjectStats(currentUser);
         return ResponseEntity.ok(response);
     }
 
+    // Streams every visible project as NDJSON (default) or CSV without loading them into memory
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @RequestParam(defaultValue = "ndjson") String format,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportProjects(currentUser, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"projects." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ProjectResponseDto>> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody ProjectRequest request,
             Authentication authentication) {
-        UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         ApiResponse<ProjectResponseDto> response = projectService.updateProject(id, request, currentUser);
         return ResponseEntity.ok(response);
     }
@@ -59,7 +128,7 @@ public class ProjectController {
     public ResponseEntity<ApiResponse<String>> deleteProject(
             @PathVariable Long id,
             Authentication authentication) {
-        UserEntity currentUser = (UserEntity) authentication.getPrincipal();
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
         ApiResponse<String> response = projectService.deleteProject(id, currentUser);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,34 @@
+package com.example.cpms.controller;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.SearchHit;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // ?q= words match client name/company/email and project title/description by prefix
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHit>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<List<SearchHit>> response = searchService.search(q, limit, currentUser);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.cpms.controller;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.ChangePasswordRequest;
+import com.example.cpms.dto.ChangeRoleRequest;
+import com.example.cpms.dto.UserResponseDto;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    // The caller's own password, the current one must be sent along
+    @PutMapping("/me/password")
+    public ResponseEntity<ApiResponse<String>> changePassword(
+            @Valid @RequestBody ChangePasswordRequest request,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<String> response = userService.changePassword(currentUser.getId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    // Admin only
+    @PutMapping("/{id}/role")
+    public ResponseEntity<ApiResponse<UserResponseDto>> changeRole(
+            @PathVariable Long id,
+            @Valid @RequestBody ChangeRoleRequest request,
+            Authentication authentication) {
+        AuthenticatedUser currentUser = (AuthenticatedUser) authentication.getPrincipal();
+        ApiResponse<UserResponseDto> response = userService.changeRole(id, request.getRole(), currentUser);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.cpms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResult<T> {
+    private int created;
+    private int failed;
+    // One entry per request row, in request order
+    private List<BulkRowResult<T>> rows;
+
+    public static <T> BulkResult<T> of(List<BulkRowResult<T>> rows) {
+        int created = (int) rows.stream().filter(BulkRowResult::isCreated).count();
+        return new BulkResult<>(created, rows.size() - created, rows);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.cpms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRowResult<T> {
+    // Position of the row in the request array
+    private int index;
+    private boolean created;
+    private T data;
+    private String error;
+
+    public static <T> BulkRowResult<T> created(int index, T data) {
+        return new BulkRowResult<>(index, true, data, null);
+    }
+
+    public static <T> BulkRowResult<T> failed(int index, String error) {
+        return new BulkRowResult<>(index, false, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.cpms.dto;
+
+import com.example.cpms.entity.Role;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChangeRoleRequest {
+    @NotNull(message = "Role is required")
+    private Role role;
+}
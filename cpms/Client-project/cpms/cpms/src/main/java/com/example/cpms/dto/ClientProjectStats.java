@@ -0,0 +1,19 @@
+package com.example.cpms.dto;
+
+import com.example.cpms.entity.ProjectStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientProjectStats {
+    private Long clientId;
+    private String clientName;
+    private long total;
+    private long overdue;
+    private Map<ProjectStatus, Long> byStatus;
+}
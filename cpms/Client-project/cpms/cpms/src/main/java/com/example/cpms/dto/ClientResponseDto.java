@@ -1,10 +1,14 @@
 package com.example.cpms.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor // Used by JPQL constructor expressions, keep the field order in sync with those queries
 public class ClientResponseDto {
     private Long id;
     private String name;
@@ -0,0 +1,14 @@
+package com.example.cpms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientSuggestion {
+    private Long id;
+    private String name;
+    private String companyName;
+}
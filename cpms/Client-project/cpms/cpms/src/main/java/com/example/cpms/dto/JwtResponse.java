@@ -11,4 +11,10 @@ public class JwtResponse {
 
     private String token;
 
+    // Exchange at POST /api/auth/refresh for a new pair once the access token expires
+    private String refreshToken;
+
+    // Access token lifetime in seconds
+    private long expiresIn;
+
 }
@@ -0,0 +1,14 @@
+package com.example.cpms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OwnerProjectCount {
+    private Long userId;
+    private String userName;
+    private Long count;
+}
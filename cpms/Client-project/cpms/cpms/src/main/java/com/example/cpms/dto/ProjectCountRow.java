@@ -0,0 +1,20 @@
+package com.example.cpms.dto;
+
+import com.example.cpms.entity.ProjectStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the project statistics: projects of a client in one status, read from
+ * project_counters. Folded into {@link ProjectStatsDto} by ProjectService, never returned directly.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectCountRow {
+    private Long clientId;
+    private String clientName;
+    private ProjectStatus status;
+    private Long count;
+}
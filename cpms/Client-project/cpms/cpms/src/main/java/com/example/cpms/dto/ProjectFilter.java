@@ -0,0 +1,26 @@
+package com.example.cpms.dto;
+
+import com.example.cpms.entity.ProjectStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional query parameters of GET /api/projects. The date range applies to the project start date.
+ */
+@Getter
+@Setter
+public class ProjectFilter {
+
+    private ProjectStatus status;
+
+    private Long clientId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
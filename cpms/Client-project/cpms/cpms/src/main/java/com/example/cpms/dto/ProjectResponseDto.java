@@ -1,13 +1,17 @@
 package com.example.cpms.dto;
 
 import com.example.cpms.entity.ProjectStatus;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor // Used by JPQL constructor expressions, keep the field order in sync with those queries
 public class ProjectResponseDto {
     private Long id;
     private String title;
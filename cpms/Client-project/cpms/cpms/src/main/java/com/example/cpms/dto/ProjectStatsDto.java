@@ -0,0 +1,24 @@
+package com.example.cpms.dto;
+
+import com.example.cpms.entity.ProjectStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of GET /api/projects/stats. Overdue means an end date in the past on a project
+ * that is not COMPLETED. Every status is present in byStatus, with 0 when there are no projects.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectStatsDto {
+    private long total;
+    private long overdue;
+    private Map<ProjectStatus, Long> byStatus;
+    private List<ClientProjectStats> byClient;
+    private List<OwnerProjectCount> byOwner;
+}
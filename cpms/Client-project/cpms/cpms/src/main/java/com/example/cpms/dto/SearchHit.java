@@ -0,0 +1,16 @@
+package com.example.cpms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHit {
+    // CLIENT or PROJECT
+    private String type;
+    private Long id;
+    private String title;
+    private String detail;
+}
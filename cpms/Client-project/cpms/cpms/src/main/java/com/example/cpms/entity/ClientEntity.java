@@ -5,19 +5,34 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "clients", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "email"),
-        @UniqueConstraint(columnNames = {"user_id", "name"}) // Optional: unique client name per user
+        @UniqueConstraint(name = ClientEntity.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = ClientEntity.UK_USER_NAME, columnNames = {"user_id", "name"}) // Optional: unique client name per user
+}, indexes = {
+        @Index(name = "idx_clients_user_id_id", columnList = "user_id, id") // Keyset pages per owner
 })
 @Getter
 @Setter
 public class ClientEntity {
+    // Constraint names are matched by the services to report duplicates
+    public static final String UK_EMAIL = "uk_clients_email";
+    public static final String UK_USER_NAME = "uk_clients_user_name";
+
+    // Pooled sequence instead of IDENTITY so inserts can be JDBC-batched (50 ids per sequence call)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock for concurrent updates; the default fills existing rows when ddl-auto adds the column
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 
     @NotBlank
     private String name;
@@ -32,7 +47,8 @@ public class ClientEntity {
     @NotBlank
     private String companyName;
 
-    @ManyToOne
+    // Ownership checks only read user.id, which the lazy proxy holds without a select
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 }
\ No newline at end of file
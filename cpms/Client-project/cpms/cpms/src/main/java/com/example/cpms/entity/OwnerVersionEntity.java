@@ -0,0 +1,23 @@
+package com.example.cpms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Version of everything one user owns, bumped by OwnerVersionService on every client or project
+ * write that changes what the user's list endpoints return. Those endpoints derive their ETags
+ * from it. No foreign key, like project_counters.
+ */
+@Entity
+@Table(name = "owner_versions")
+@Getter
+@Setter
+public class OwnerVersionEntity {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion;
+}
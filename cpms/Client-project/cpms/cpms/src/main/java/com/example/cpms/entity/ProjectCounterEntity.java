@@ -0,0 +1,40 @@
+package com.example.cpms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Denormalized project count for one (client, owner, status), kept in step with the projects
+ * table by ProjectCounterService. userId is the project's owner (projects.user_id), the same
+ * ownership the stats queries used before the counters, so per-user totals are a sum over that
+ * user's rows. Projects without a client or status are not counted. No foreign keys: a counter
+ * row never blocks deleting a client.
+ */
+@Entity
+@Table(name = "project_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_project_counters_client_user_status", columnNames = {"client_id", "user_id", "status"})
+}, indexes = {
+        @Index(name = "idx_project_counters_user_id", columnList = "user_id")
+})
+@Getter
+@Setter
+public class ProjectCounterEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_counters_seq")
+    @SequenceGenerator(name = "project_counters_seq", sequenceName = "project_counters_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProjectStatus status;
+
+    @Column(name = "project_count", nullable = false)
+    private long projectCount;
+}
@@ -4,20 +4,37 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "projects", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"client_id", "title"}) //Prevent duplicate project titles for same client
+        @UniqueConstraint(name = ProjectEntity.UK_CLIENT_TITLE, columnNames = {"client_id", "title"}) //Prevent duplicate project titles for same client
+}, indexes = {
+        @Index(name = "idx_projects_user_id_id", columnList = "user_id, id"), // Keyset pages per owner
+        @Index(name = "idx_projects_status_id", columnList = "status, id"),
+        @Index(name = "idx_projects_start_end", columnList = "start_date, end_date"), // Start date filters and active-range overlap queries
+        @Index(name = "idx_projects_end_date", columnList = "end_date") // Overdue counts only touch past end dates
 })
 @Getter
 @Setter
 public class ProjectEntity {
+    // Constraint name is matched by the services to report duplicates
+    public static final String UK_CLIENT_TITLE = "uk_projects_client_title";
+
+    // Pooled sequence instead of IDENTITY so inserts can be JDBC-batched (50 ids per sequence call)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock for concurrent updates; the default fills existing rows when ddl-auto adds the column
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @NotBlank
     private String title;
 
@@ -29,11 +46,12 @@ public class ProjectEntity {
     @Enumerated(EnumType.STRING)
     private ProjectStatus status = ProjectStatus.PLANNED;
 
-    @ManyToOne
+    // Lazy by default, repository methods declare what each use case fetches
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     private ClientEntity client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserEntity user;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.cpms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A single token (access or refresh) revoked before it expired, by logout or refresh-token
+ * rotation. Kept until the token would have expired anyway; TokenRevocationList loads the rows at
+ * startup and answers from memory.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+public class RevokedTokenEntity {
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
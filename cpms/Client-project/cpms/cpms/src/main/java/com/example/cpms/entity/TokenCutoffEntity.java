@@ -0,0 +1,24 @@
+package com.example.cpms.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Tokens of the user issued before {@code notBefore} are revoked, set when the password or role
+ * changes. No foreign key, like owner_versions.
+ */
+@Entity
+@Table(name = "token_cutoffs")
+@Getter
+@Setter
+public class TokenCutoffEntity {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "not_before", nullable = false)
+    private Instant notBefore;
+}
@@ -7,10 +7,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"))
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = UserEntity.UK_EMAIL, columnNames = "email"))
 @Getter
 @Setter
 public class UserEntity {
+    // Constraint name is matched by UserService to report duplicate registrations
+    public static final String UK_EMAIL = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
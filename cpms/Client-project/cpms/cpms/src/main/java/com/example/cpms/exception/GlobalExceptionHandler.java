@@ -1,8 +1,11 @@
 package com.example.cpms.exception;
 
 import com.example.cpms.dto.ApiResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -45,6 +48,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ApiResponse.error("Conflict: " + ex.getMessage()), HttpStatus.CONFLICT);
     }
 
+    // Constraint violations the services did not map to a specific message (409)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return new ResponseEntity<>(ApiResponse.error("Conflict: the request violates a data constraint"), HttpStatus.CONFLICT);
+    }
+
+    // Another request updated the same row between our read and our write (409)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(ApiResponse.error("Conflict: the resource was modified concurrently, reload and retry"),
+                HttpStatus.CONFLICT);
+    }
+
+    // If-Match no longer matches the current version (412)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return new ResponseEntity<>(ApiResponse.error(ex.getMessage()), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Password hashing queue is full, tell the client when to come back (503)
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     // Custom resource exception (500)
     @ExceptionHandler(ResourceException.class)
     public ResponseEntity<ApiResponse<String>> handleResourceException(ResourceException ex) {
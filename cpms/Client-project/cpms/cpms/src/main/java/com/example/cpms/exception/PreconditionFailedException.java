@@ -0,0 +1,8 @@
+package com.example.cpms.exception;
+
+// An If-Match header no longer matches the resource (412)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
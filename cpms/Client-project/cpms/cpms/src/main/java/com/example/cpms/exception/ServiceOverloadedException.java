@@ -0,0 +1,8 @@
+package com.example.cpms.exception;
+
+// Work was turned away because a bounded queue is full, the client should retry shortly (503)
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.cpms.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps a unique-constraint violation raised by the database to the
+ * {@link ResourceAlreadyExistsException} message of the matching constraint.
+ * The services insert directly and rely on the constraint instead of a pre-check SELECT.
+ */
+public final class UniqueConstraintTranslator {
+
+    private UniqueConstraintTranslator() {
+    }
+
+    // Returns the original exception when no known constraint matches
+    public static RuntimeException translate(DataIntegrityViolationException ex, Map<String, String> messages) {
+        String constraint = constraintName(ex);
+        if (constraint != null) {
+            // Drivers differ in case and decoration (H2 appends the index name), so match by containment
+            String normalized = constraint.toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, String> entry : messages.entrySet()) {
+                if (normalized.contains(entry.getKey())) {
+                    return new ResourceAlreadyExistsException(entry.getValue());
+                }
+            }
+        }
+        return ex;
+    }
+
+    private static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.cpms.mapper;
+
+import com.example.cpms.dto.ClientResponseDto;
+import com.example.cpms.entity.ClientEntity;
+import org.mapstruct.Mapper;
+
+/**
+ * Entity to DTO conversion generated at compile time by MapStruct (no reflection at runtime).
+ */
+@Mapper(componentModel = "spring")
+public interface ClientMapper {
+
+    ClientResponseDto toDto(ClientEntity client);
+}
@@ -0,0 +1,18 @@
+package com.example.cpms.mapper;
+
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.ProjectEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Entity to DTO conversion generated at compile time by MapStruct (no reflection at runtime).
+ */
+@Mapper(componentModel = "spring")
+public interface ProjectMapper {
+
+    // Flattens the client association, a missing client leaves both fields null
+    @Mapping(target = "clientId", source = "client.id")
+    @Mapping(target = "clientName", source = "client.name")
+    ProjectResponseDto toDto(ProjectEntity project);
+}
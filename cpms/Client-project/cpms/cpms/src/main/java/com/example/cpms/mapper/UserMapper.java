@@ -0,0 +1,16 @@
+package com.example.cpms.mapper;
+
+import com.example.cpms.dto.UserResponseDto;
+import com.example.cpms.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Entity to DTO conversion generated at compile time by MapStruct (no reflection at runtime).
+ */
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    @Mapping(target = "username", source = "name")
+    UserResponseDto toDto(UserEntity user);
+}
@@ -0,0 +1,34 @@
+package com.example.cpms.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate statement inspector (registered in MetricsConfig) that counts the SQL statements
+ * prepared on the current thread between {@link #start()} and {@link #stop()}. Threads that never
+ * called start, such as schedulers, are not counted.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        counts.set(new int[1]);
+    }
+
+    public int stop() {
+        int[] count = counts.get();
+        counts.remove();
+        return (count != null) ? count[0] : 0;
+    }
+}
@@ -1,15 +1,86 @@
 package com.example.cpms.repository;
 
+import com.example.cpms.dto.ClientResponseDto;
 import com.example.cpms.entity.ClientEntity;
-import com.example.cpms.entity.UserEntity;
+import com.example.cpms.search.ClientDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ClientRepository extends JpaRepository<ClientEntity, Long> {
     Optional<ClientEntity> findByEmail(String email);
-    List<ClientEntity> findByUser(UserEntity user);
 
-    //  Add this method to prevent duplicate client names per user
-    Optional<ClientEntity> findByUserAndName(UserEntity user, String name);
+    // Ownership-scoped access: the owner is part of the primary-key lookup, admins use the unscoped methods
+    Optional<ClientEntity> findByIdAndUser_Id(Long id, Long userId);
+
+    boolean existsByIdAndUser_Id(Long id, Long userId);
+
+    // Scalar reads for ETag checks and owner lookups, the client row is not loaded
+    @Query("select c.version from ClientEntity c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select c.version from ClientEntity c where c.id = :id and c.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select c.user.id from ClientEntity c where c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from ClientEntity c where c.id = :id and c.user.id = :userId")
+    int deleteOwnedById(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from ClientEntity c where c.id = :id")
+    int deleteClientById(@Param("id") Long id);
+
+    // Keyset pages ordered by id and projected into DTOs, fetch limit + 1 rows to detect the next page
+    @Query("select new com.example.cpms.dto.ClientResponseDto(c.id, c.name, c.email, c.phone, c.companyName) " +
+            "from ClientEntity c where c.id > :afterId order by c.id")
+    List<ClientResponseDto> findDtoPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.example.cpms.dto.ClientResponseDto(c.id, c.name, c.email, c.phone, c.companyName) " +
+            "from ClientEntity c where c.user.id = :userId and c.id > :afterId order by c.id")
+    List<ClientResponseDto> findDtoPageByUser(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // Set-based duplicate checks for the bulk import, one query per rule for the whole batch
+    @Query("select c.email from ClientEntity c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select c.name from ClientEntity c where c.user.id = :userId and c.name in :names")
+    List<String> findExistingNames(@Param("userId") Long userId, @Param("names") Collection<String> names);
+
+    // Forward-only cursors for the export endpoints, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.dto.ClientResponseDto(c.id, c.name, c.email, c.phone, c.companyName) " +
+            "from ClientEntity c order by c.id")
+    Stream<ClientResponseDto> streamAllForExport();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.dto.ClientResponseDto(c.id, c.name, c.email, c.phone, c.companyName) " +
+            "from ClientEntity c where c.user.id = :userId order by c.id")
+    Stream<ClientResponseDto> streamByUserForExport(@Param("userId") Long userId);
+
+    // Startup load of the search index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.search.ClientDocument(c.id, c.user.id, c.name, c.companyName, c.email) " +
+            "from ClientEntity c")
+    Stream<ClientDocument> streamSearchDocuments();
 }
\ No newline at end of file
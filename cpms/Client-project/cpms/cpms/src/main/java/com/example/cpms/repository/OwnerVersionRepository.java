@@ -0,0 +1,29 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.entity.OwnerVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OwnerVersionRepository extends JpaRepository<OwnerVersionEntity, Long> {
+
+    @Modifying
+    @Query("update OwnerVersionEntity v set v.dataVersion = v.dataVersion + 1 where v.userId = :userId")
+    int bump(@Param("userId") Long userId);
+
+    // Concurrent first writes of one owner both get here, only one row may be created
+    @Modifying
+    @Query(value = "insert into owner_versions (user_id, data_version) values (:userId, 1) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    @Query("select v.dataVersion from OwnerVersionEntity v where v.userId = :userId")
+    Optional<Long> findDataVersion(@Param("userId") Long userId);
+
+    // Rows are never deleted and only ever incremented, so the sum changes whenever any owner's data does
+    @Query("select coalesce(sum(v.dataVersion), 0) from OwnerVersionEntity v")
+    long sumDataVersions();
+}
@@ -0,0 +1,61 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.dto.OwnerProjectCount;
+import com.example.cpms.dto.ProjectCountRow;
+import com.example.cpms.entity.ProjectCounterEntity;
+import com.example.cpms.entity.ProjectStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProjectCounterRepository extends JpaRepository<ProjectCounterEntity, Long> {
+
+    // Atomic in-place change, returns 0 when the (client, owner, status) row does not exist yet
+    @Modifying
+    @Query("update ProjectCounterEntity pc set pc.projectCount = pc.projectCount + :delta " +
+            "where pc.clientId = :clientId and pc.userId = :userId and pc.status = :status")
+    int addToCount(@Param("clientId") Long clientId, @Param("userId") Long userId,
+                   @Param("status") ProjectStatus status, @Param("delta") long delta);
+
+    // Concurrent first projects of one (client, owner, status) both get here, only one row may be created.
+    // The id is drawn straight from the sequence: that value is the top of a pooled block no
+    // Hibernate optimizer will hand out, so it cannot collide with ids from save()
+    @Modifying
+    @Query(value = "insert into project_counters (id, client_id, user_id, status, project_count) " +
+            "values (nextval('project_counters_seq'), :clientId, :userId, :status, :delta) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("clientId") Long clientId, @Param("userId") Long userId,
+                       @Param("status") String status, @Param("delta") long delta);
+
+    // The rebuild holds these locks while it counts, so no adjust can commit between its count and its write.
+    // Rows are locked in key order; adjustAll() takes them in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select pc from ProjectCounterEntity pc order by pc.clientId, pc.userId, pc.status")
+    List<ProjectCounterEntity> findAllForUpdate();
+
+    @Modifying
+    @Query("delete from ProjectCounterEntity pc where pc.clientId = :clientId")
+    int deleteByClientId(@Param("clientId") Long clientId);
+
+    // Dashboard reads: one row per (client, status); overdue is counted from the projects table
+    @Query("select new com.example.cpms.dto.ProjectCountRow(c.id, c.name, pc.status, pc.projectCount) " +
+            "from ProjectCounterEntity pc join ClientEntity c on c.id = pc.clientId order by c.id")
+    List<ProjectCountRow> findAllRows();
+
+    @Query("select new com.example.cpms.dto.ProjectCountRow(c.id, c.name, pc.status, pc.projectCount) " +
+            "from ProjectCounterEntity pc join ClientEntity c on c.id = pc.clientId where pc.userId = :userId order by c.id")
+    List<ProjectCountRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.cpms.dto.OwnerProjectCount(u.id, u.name, sum(pc.projectCount)) " +
+            "from ProjectCounterEntity pc join UserEntity u on u.id = pc.userId group by u.id, u.name order by u.id")
+    List<OwnerProjectCount> sumByOwner();
+
+    @Query("select new com.example.cpms.dto.OwnerProjectCount(u.id, u.name, sum(pc.projectCount)) " +
+            "from ProjectCounterEntity pc join UserEntity u on u.id = pc.userId where u.id = :userId group by u.id, u.name")
+    List<OwnerProjectCount> sumByOwnerFor(@Param("userId") Long userId);
+}
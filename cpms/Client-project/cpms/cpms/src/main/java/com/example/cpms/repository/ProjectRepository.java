@@ -1,20 +1,83 @@
 package com.example.cpms.repository;
 
-import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.dto.ProjectResponseDto;
 import com.example.cpms.entity.ProjectEntity;
-import com.example.cpms.entity.UserEntity;
+import com.example.cpms.search.ProjectDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
+public interface ProjectRepository extends JpaRepository<ProjectEntity, Long>, ProjectRepositoryCustom {
 
-    Optional<ProjectEntity> findByTitleAndClient(String title, ClientEntity client);
+    // Client is joined in the same select: the DTO needs its name and ownership checks go through it
+    @EntityGraph(attributePaths = "client")
+    Optional<ProjectEntity> findWithClientById(Long id);
 
-    List<ProjectEntity> findByClient_Id(Long clientId);
-    List<ProjectEntity> findByUser(UserEntity user);
+    // Ownership-scoped access through the project's client, admins use the unscoped methods
+    @EntityGraph(attributePaths = "client")
+    Optional<ProjectEntity> findWithClientByIdAndClient_User_Id(Long id, Long userId);
 
-   //This method prevent duplicate projects
-    boolean existsByClient_IdAndTitle(Long clientId, String title);
+    @Query("select new com.example.cpms.dto.ProjectResponseDto(p.id, p.title, p.description, p.startDate, p.endDate, p.status, c.id, c.name) " +
+            "from ProjectEntity p join p.client c where c.id = :clientId order by p.id")
+    List<ProjectResponseDto> findDtosByClientId(@Param("clientId") Long clientId);
+
+    // Page rows for ids found by the in-memory interval index
+    @Query("select new com.example.cpms.dto.ProjectResponseDto(p.id, p.title, p.description, p.startDate, p.endDate, p.status, c.id, c.name) " +
+            "from ProjectEntity p left join p.client c where p.id in :ids order by p.id")
+    List<ProjectResponseDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Overdue projects per client for the dashboard; time-dependent, so not kept in project_counters
+    @Query("select c.id, count(p) from ProjectEntity p join p.client c " +
+            "where p.endDate < :today and p.status <> com.example.cpms.entity.ProjectStatus.COMPLETED group by c.id")
+    List<Object[]> countOverdueByClient(@Param("today") LocalDate today);
+
+    @Query("select c.id, count(p) from ProjectEntity p join p.client c where p.user.id = :userId " +
+            "and p.endDate < :today and p.status <> com.example.cpms.entity.ProjectStatus.COMPLETED group by c.id")
+    List<Object[]> countOverdueByClientForOwner(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // Source of truth for the project_counters rebuild: (clientId, project owner id, status, count)
+    @Query("select p.client.id, p.user.id, p.status, count(p) from ProjectEntity p " +
+            "where p.client is not null and p.user is not null and p.status is not null " +
+            "group by p.client.id, p.user.id, p.status")
+    List<Object[]> countByClientOwnerAndStatus();
+
+    // Candidate (clientId, title) pairs for the bulk import, callers match the exact pairs
+    @Query("select p.client.id, p.title from ProjectEntity p where p.client.id in :clientIds and p.title in :titles")
+    List<Object[]> findExistingTitles(@Param("clientIds") Collection<Long> clientIds, @Param("titles") Collection<String> titles);
+
+    // Forward-only cursors for the export endpoints, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.dto.ProjectResponseDto(p.id, p.title, p.description, p.startDate, p.endDate, p.status, c.id, c.name) " +
+            "from ProjectEntity p left join p.client c order by p.id")
+    Stream<ProjectResponseDto> streamAllForExport();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.dto.ProjectResponseDto(p.id, p.title, p.description, p.startDate, p.endDate, p.status, c.id, c.name) " +
+            "from ProjectEntity p left join p.client c where p.user.id = :userId order by p.id")
+    Stream<ProjectResponseDto> streamByUserForExport(@Param("userId") Long userId);
+
+    // Startup load of the search index, owner is the project's own owner (projects.user_id)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.cpms.search.ProjectDocument(p.id, u.id, p.title, p.description, p.startDate, p.endDate) " +
+            "from ProjectEntity p left join p.user u")
+    Stream<ProjectDocument> streamSearchDocuments();
 }
 
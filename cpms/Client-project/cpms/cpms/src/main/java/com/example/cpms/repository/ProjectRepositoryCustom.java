@@ -0,0 +1,16 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.dto.ProjectFilter;
+import com.example.cpms.dto.ProjectResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProjectRepositoryCustom {
+
+    // Keyset page ordered by id, projected straight into DTOs; ownerId null means all owners (admin)
+    List<ProjectResponseDto> findPage(Long ownerId, ProjectFilter filter, long afterId, int limit);
+
+    // Keyset page of the projects whose [startDate, endDate] overlaps [from, to]; a null end date is still running
+    List<ProjectResponseDto> findActivePage(Long ownerId, LocalDate from, LocalDate to, long afterId, int limit);
+}
@@ -0,0 +1,91 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.dto.ProjectFilter;
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.entity.ProjectStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjectResponseDto> findPage(Long ownerId, ProjectFilter filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectResponseDto> query = cb.createQuery(ProjectResponseDto.class);
+        Root<ProjectEntity> project = query.from(ProjectEntity.class);
+        Join<ProjectEntity, ClientEntity> client = project.join("client", JoinType.LEFT);
+
+        // Only the filters that were supplied end up in the SQL, so each combination can use its index
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(project.<Long>get("id"), afterId));
+        if (ownerId != null) {
+            predicates.add(cb.equal(project.get("user").get("id"), ownerId));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(project.<ProjectStatus>get("status"), filter.getStatus()));
+        }
+        if (filter.getClientId() != null) {
+            predicates.add(cb.equal(client.get("id"), filter.getClientId()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(project.<LocalDate>get("startDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(project.<LocalDate>get("startDate"), filter.getTo()));
+        }
+
+        return selectPage(cb, query, project, client, predicates, limit);
+    }
+
+    @Override
+    public List<ProjectResponseDto> findActivePage(Long ownerId, LocalDate from, LocalDate to, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectResponseDto> query = cb.createQuery(ProjectResponseDto.class);
+        Root<ProjectEntity> project = query.from(ProjectEntity.class);
+        Join<ProjectEntity, ClientEntity> client = project.join("client", JoinType.LEFT);
+
+        // start_date <= :to is a range scan on idx_projects_start_end, end_date is checked from the same entries
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(project.<Long>get("id"), afterId));
+        if (ownerId != null) {
+            predicates.add(cb.equal(project.get("user").get("id"), ownerId));
+        }
+        predicates.add(cb.lessThanOrEqualTo(project.<LocalDate>get("startDate"), to));
+        predicates.add(cb.or(
+                cb.isNull(project.get("endDate")),
+                cb.greaterThanOrEqualTo(project.<LocalDate>get("endDate"), from)));
+
+        return selectPage(cb, query, project, client, predicates, limit);
+    }
+
+    // Only the DTO columns are selected, nothing enters the persistence context
+    private List<ProjectResponseDto> selectPage(CriteriaBuilder cb, CriteriaQuery<ProjectResponseDto> query,
+                                                Root<ProjectEntity> project, Join<ProjectEntity, ClientEntity> client,
+                                                List<Predicate> predicates, int limit) {
+        query.select(cb.construct(ProjectResponseDto.class,
+                        project.get("id"), project.get("title"), project.get("description"),
+                        project.get("startDate"), project.get("endDate"), project.get("status"),
+                        client.get("id"), client.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(project.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    List<RevokedTokenEntity> findByExpiresAtAfter(Instant now);
+
+    // save() would merge an assigned id; 0 rows means the jti was already revoked
+    @Transactional
+    @Modifying
+    @Query(value = "insert into revoked_tokens (jti, expires_at) values (:jti, :expiresAt) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedTokenEntity t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
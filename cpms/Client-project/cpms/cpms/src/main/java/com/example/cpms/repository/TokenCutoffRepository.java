@@ -0,0 +1,22 @@
+package com.example.cpms.repository;
+
+import com.example.cpms.entity.TokenCutoffEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenCutoffRepository extends JpaRepository<TokenCutoffEntity, Long> {
+
+    List<TokenCutoffEntity> findByNotBeforeAfter(Instant since);
+
+    // Cutoffs older than the longest token lifetime no longer reject anything
+    @Transactional
+    @Modifying
+    @Query("delete from TokenCutoffEntity c where c.notBefore <= :since")
+    int deleteOlderThan(@Param("since") Instant since);
+}
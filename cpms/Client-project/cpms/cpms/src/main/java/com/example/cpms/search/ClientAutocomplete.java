@@ -0,0 +1,145 @@
+package com.example.cpms.search;
+
+import com.example.cpms.dto.ClientSuggestion;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead over client name and company name, one {@link PrefixTrie} per owner so a user's
+ * keystroke only walks their own clients. Both fields are matched from their first character,
+ * case-insensitively; results come in key order. Kept current by {@link SearchIndexListener}.
+ */
+@Component
+public class ClientAutocomplete {
+
+    private record Entry(long ownerId, String name, String companyName) {
+    }
+
+    private record Match(String key, long id) {
+    }
+
+    private final Map<Long, PrefixTrie> tries = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ClientDocument doc) {
+        Entry entry = new Entry(doc.ownerId(), doc.name(), doc.companyName());
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(doc.id(), entry);
+            if (previous != null) {
+                unlink(doc.id(), previous);
+            }
+            PrefixTrie trie = tries.computeIfAbsent(entry.ownerId(), owner -> new PrefixTrie());
+            for (String key : keys(entry)) {
+                trie.insert(key, doc.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ownerId null looks through every owner (admin) and merges their matches by key
+    public List<ClientSuggestion> suggest(String prefix, Long ownerId, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized == null || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, String> matches = new LinkedHashMap<>();
+            if (ownerId != null) {
+                PrefixTrie trie = tries.get(ownerId);
+                if (trie != null) {
+                    trie.collect(normalized, limit, matches);
+                }
+            } else {
+                List<Match> merged = new ArrayList<>();
+                for (PrefixTrie trie : tries.values()) {
+                    Map<Long, String> ownerMatches = new LinkedHashMap<>();
+                    trie.collect(normalized, limit, ownerMatches);
+                    ownerMatches.forEach((id, key) -> merged.add(new Match(key, id)));
+                }
+                merged.sort(Comparator.comparing(Match::key).thenComparingLong(Match::id));
+                for (int i = 0; i < merged.size() && i < limit; i++) {
+                    matches.put(merged.get(i).id(), merged.get(i).key());
+                }
+            }
+
+            List<ClientSuggestion> suggestions = new ArrayList<>(matches.size());
+            for (Long id : matches.keySet()) {
+                Entry entry = entries.get(id);
+                suggestions.add(new ClientSuggestion(id, entry.name(), entry.companyName()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void unlink(Long id, Entry entry) {
+        PrefixTrie trie = tries.get(entry.ownerId());
+        if (trie == null) {
+            return;
+        }
+        for (String key : keys(entry)) {
+            trie.remove(key, id);
+        }
+        if (trie.isEmpty()) {
+            tries.remove(entry.ownerId());
+        }
+    }
+
+    private static List<String> keys(Entry entry) {
+        List<String> keys = new ArrayList<>(2);
+        String name = normalize(entry.name());
+        if (name != null) {
+            keys.add(name);
+        }
+        String company = normalize(entry.companyName());
+        if (company != null && !company.equals(name)) {
+            keys.add(company);
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
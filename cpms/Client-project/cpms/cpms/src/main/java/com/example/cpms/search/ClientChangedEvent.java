@@ -0,0 +1,16 @@
+package com.example.cpms.search;
+
+/**
+ * Published by ClientService inside its transaction and applied to the search index after commit.
+ * A null document means the client was deleted.
+ */
+public record ClientChangedEvent(Long clientId, ClientDocument document) {
+
+    public static ClientChangedEvent saved(ClientDocument document) {
+        return new ClientChangedEvent(document.id(), document);
+    }
+
+    public static ClientChangedEvent deleted(Long clientId) {
+        return new ClientChangedEvent(clientId, null);
+    }
+}
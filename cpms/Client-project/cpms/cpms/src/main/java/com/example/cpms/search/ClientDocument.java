@@ -0,0 +1,12 @@
+package com.example.cpms.search;
+
+import com.example.cpms.entity.ClientEntity;
+
+// Searchable fields of a client; ownerId is the client's owner
+public record ClientDocument(Long id, Long ownerId, String name, String companyName, String email) {
+
+    public static ClientDocument from(ClientEntity client) {
+        return new ClientDocument(client.getId(), client.getUser().getId(), client.getName(),
+                client.getCompanyName(), client.getEmail());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.cpms.search;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Interval tree over closed [start, end] day ranges: a treap ordered by (start, id) where each node
+ * also keeps the largest end in its subtree, so overlap queries skip subtrees that end too early
+ * and stop at starts past the window. Insert and remove are O(log n) expected, a query is
+ * O(log n + matches). Not thread-safe; {@link ProjectIntervalIndex} guards it.
+ */
+final class IntervalTree {
+
+    static final class Node {
+        final long id;
+        final long ownerId;
+        final int start;
+        final int end;
+        int maxEnd;
+        Node left;
+        Node right;
+
+        Node(long id, long ownerId, int start, int end) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(Node node) {
+        root = insert(root, node);
+        size++;
+    }
+
+    // The node must be the one that was inserted
+    void remove(Node node) {
+        root = remove(root, node);
+        size--;
+    }
+
+    // Calls the consumer with the id of every interval overlapping [from, to], in (start, id) order
+    void overlapping(int from, int to, LongConsumer consumer) {
+        overlapping(root, from, to, consumer);
+    }
+
+    private static void overlapping(Node node, int from, int to, LongConsumer consumer) {
+        while (node != null && node.maxEnd >= from) {
+            overlapping(node.left, from, to, consumer);
+            // Everything to the right starts at or after this node
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                consumer.accept(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+            if (priority(root.left) > priority(root)) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (priority(root.right) > priority(root)) {
+                root = rotateLeft(root);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node remove(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (compare(node, root) < 0) {
+            root.left = remove(root.left, node);
+        } else {
+            root.right = remove(root.right, node);
+        }
+        update(root);
+        return root;
+    }
+
+    // Every key in a is smaller than every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        return right;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(Node a, Node b) {
+        int byStart = Integer.compare(a.start, b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+
+    // Derived from the id instead of stored: a well-mixed hash is as good as a random priority
+    private static int priority(Node node) {
+        long h = node.id * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) h;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.cpms.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the index changes of transactions that commit while an index is being loaded from the
+ * database, and applies them in order once the load is done. Applied straight away, a delete
+ * could run before the load reaches the deleted row and the load would put it back.
+ */
+final class PendingChanges {
+
+    // Null once the load has finished
+    private List<Runnable> pending = new ArrayList<>();
+
+    void apply(Runnable change) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    // Replays on top of the loaded state; changes already in the snapshot are just written again
+    synchronized void loaded() {
+        pending.forEach(Runnable::run);
+        pending = null;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.cpms.search;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Radix tree from lower-cased keys to client ids. Edges carry whole runs of characters and nodes
+ * keep their children and ids in plain sorted arrays, so a key costs roughly one small node
+ * plus its unshared characters. Not thread-safe; {@link ClientAutocomplete} guards it.
+ */
+final class PrefixTrie {
+
+    private static final class Node {
+        char[] label;
+        // Sorted by the first character of their label; null when the node is a leaf
+        Node[] children;
+        // Sorted ids whose key ends at this node; null when none do
+        long[] ids;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private static final char[] EMPTY = new char[0];
+
+    private final Node root = new Node(EMPTY);
+
+    boolean isEmpty() {
+        return root.children == null && root.ids == null;
+    }
+
+    void insert(String key, long id) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                leaf.ids = new long[]{id};
+                node.children = insertChild(node.children, -index - 1, leaf);
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length) {
+                // Split the edge where the key leaves it
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = new Node[]{child};
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        node.ids = withId(node.ids, id);
+    }
+
+    void remove(String key, long id) {
+        removeBelow(root, key, 0, id);
+    }
+
+    /**
+     * Walks the keys starting with {@code prefix} in lexicographic order and puts each id with the
+     * first key it was reached by into {@code out}, stopping once {@code out} holds {@code limit} ids.
+     */
+    void collect(String prefix, int limit, Map<Long, String> out) {
+        Node node = root;
+        StringBuilder path = new StringBuilder(prefix.length() + 16);
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, i);
+            // The prefix must either cover the whole edge or end inside it
+            if (common < child.label.length && i + common < prefix.length()) {
+                return;
+            }
+            path.append(child.label);
+            node = child;
+            i += child.label.length;
+        }
+        walk(node, path, limit, out);
+    }
+
+    private static boolean walk(Node node, StringBuilder path, int limit, Map<Long, String> out) {
+        if (node.ids != null) {
+            String key = path.toString();
+            for (long id : node.ids) {
+                out.putIfAbsent(id, key);
+                if (out.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                int length = path.length();
+                path.append(child.label);
+                boolean full = walk(child, path, limit, out);
+                path.setLength(length);
+                if (full) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // The node itself is left as is, the caller compacts it
+    private static void removeBelow(Node node, String key, int i, long id) {
+        if (i == key.length()) {
+            node.ids = withoutId(node.ids, id);
+            return;
+        }
+        int index = childIndex(node, key.charAt(i));
+        if (index < 0) {
+            return;
+        }
+        Node child = node.children[index];
+        if (commonPrefix(child.label, key, i) < child.label.length) {
+            return;
+        }
+        removeBelow(child, key, i + child.label.length, id);
+
+        Node replacement = compact(child);
+        if (replacement == null) {
+            node.children = removeChild(node.children, index);
+        } else {
+            node.children[index] = replacement;
+        }
+    }
+
+    // Drops a node without ids or children and merges a node without ids into its only child
+    private static Node compact(Node node) {
+        if (node.ids != null) {
+            return node;
+        }
+        if (node.children == null) {
+            return null;
+        }
+        if (node.children.length == 1) {
+            Node child = node.children[0];
+            char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+            System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+            child.label = label;
+            return child;
+        }
+        return node;
+    }
+
+    // Binary search on first characters; like Arrays.binarySearch, -(insertion point) - 1 when absent
+    private static int childIndex(Node node, char c) {
+        Node[] children = node.children;
+        if (children == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = children[mid].label[0];
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int max = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node[] insertChild(Node[] children, int index, Node child) {
+        if (children == null) {
+            return new Node[]{child};
+        }
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, index);
+        result[index] = child;
+        System.arraycopy(children, index, result, index + 1, children.length - index);
+        return result;
+    }
+
+    private static Node[] removeChild(Node[] children, int index) {
+        if (children.length == 1) {
+            return null;
+        }
+        Node[] result = new Node[children.length - 1];
+        System.arraycopy(children, 0, result, 0, index);
+        System.arraycopy(children, index + 1, result, index, children.length - index - 1);
+        return result;
+    }
+
+    private static long[] withId(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    private static long[] withoutId(long[] ids, long id) {
+        if (ids == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        System.arraycopy(ids, index + 1, result, index, ids.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.cpms.search;
+
+/**
+ * Published by ProjectService inside its transaction and applied to the search index after commit.
+ * A null document means the project was deleted.
+ */
+public record ProjectChangedEvent(Long projectId, ProjectDocument document) {
+
+    public static ProjectChangedEvent saved(ProjectDocument document) {
+        return new ProjectChangedEvent(document.id(), document);
+    }
+
+    public static ProjectChangedEvent deleted(Long projectId) {
+        return new ProjectChangedEvent(projectId, null);
+    }
+}
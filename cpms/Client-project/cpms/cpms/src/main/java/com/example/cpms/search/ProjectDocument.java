@@ -0,0 +1,17 @@
+package com.example.cpms.search;
+
+import com.example.cpms.entity.ProjectEntity;
+
+import java.time.LocalDate;
+
+// Indexed fields of a project; ownerId is the project's own owner (projects.user_id), the same
+// ownership the project queries filter on
+public record ProjectDocument(Long id, Long ownerId, String title, String description,
+                              LocalDate startDate, LocalDate endDate) {
+
+    public static ProjectDocument from(ProjectEntity project) {
+        Long ownerId = (project.getUser() == null) ? null : project.getUser().getId();
+        return new ProjectDocument(project.getId(), ownerId,
+                project.getTitle(), project.getDescription(), project.getStartDate(), project.getEndDate());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.cpms.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory answer to "which projects are active between two dates", one {@link IntervalTree}
+ * per owner. Same rules as the database query: the owner is the project's own (projects.user_id, not
+ * the client's), projects without a start date are left out and a missing end date means the
+ * project is still running. Costs about 100 bytes per project, so it
+ * is only created when cpms.active-projects.interval-index=true; kept current by
+ * {@link ProjectIntervalIndexListener}.
+ */
+@Component
+@ConditionalOnProperty(name = "cpms.active-projects.interval-index", havingValue = "true")
+public class ProjectIntervalIndex {
+
+    private static final int OPEN_END = Integer.MAX_VALUE;
+    // Tree of the projects without an owner, which only admins see; no user has this id
+    private static final long NO_OWNER = -1L;
+
+    private final Map<Long, IntervalTree> trees = new HashMap<>();
+    private final Map<Long, IntervalTree.Node> nodes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    public void put(ProjectDocument doc) {
+        lock.writeLock().lock();
+        try {
+            unlink(doc.id());
+            if (doc.startDate() == null) {
+                return;
+            }
+            int end = (doc.endDate() == null) ? OPEN_END : (int) doc.endDate().toEpochDay();
+            long ownerId = (doc.ownerId() == null) ? NO_OWNER : doc.ownerId();
+            IntervalTree.Node node = new IntervalTree.Node(doc.id(), ownerId, (int) doc.startDate().toEpochDay(), end);
+            nodes.put(doc.id(), node);
+            trees.computeIfAbsent(ownerId, owner -> new IntervalTree()).insert(node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Until the startup load has finished, callers should ask the database
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * Ids above {@code afterId} of the projects overlapping [from, to], ascending, at most {@code limit}.
+     * ownerId null looks through every owner (admin).
+     */
+    public long[] findActive(Long ownerId, LocalDate from, LocalDate to, long afterId, int limit) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            SmallestIds smallest = new SmallestIds(afterId, limit);
+            if (ownerId != null) {
+                IntervalTree tree = trees.get(ownerId);
+                if (tree != null) {
+                    tree.overlapping(fromDay, toDay, smallest::offer);
+                }
+            } else {
+                for (IntervalTree tree : trees.values()) {
+                    tree.overlapping(fromDay, toDay, smallest::offer);
+                }
+            }
+            return smallest.toSortedArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void unlink(Long id) {
+        IntervalTree.Node previous = nodes.remove(id);
+        if (previous == null) {
+            return;
+        }
+        IntervalTree tree = trees.get(previous.ownerId);
+        tree.remove(previous);
+        if (tree.size() == 0) {
+            trees.remove(previous.ownerId);
+        }
+    }
+
+    /**
+     * Keeps the {@code limit} smallest ids above {@code afterId} in a max-heap of primitives: the trees
+     * yield matches by start date, pages are by id, and a wide window may match far more than a page.
+     */
+    private static final class SmallestIds {
+        private final long afterId;
+        private final long[] heap;
+        private int size;
+
+        SmallestIds(long afterId, int limit) {
+            this.afterId = afterId;
+            this.heap = new long[limit];
+        }
+
+        void offer(long id) {
+            if (id <= afterId || heap.length == 0) {
+                return;
+            }
+            if (size < heap.length) {
+                int i = size++;
+                // Sift up
+                while (i > 0 && heap[(i - 1) >>> 1] < id) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = id;
+            } else if (id < heap[0]) {
+                siftDown(id);
+            }
+        }
+
+        private void siftDown(long id) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] > heap[child]) {
+                    child++;
+                }
+                if (heap[child] <= id) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = id;
+        }
+
+        long[] toSortedArray() {
+            long[] ids = Arrays.copyOf(heap, size);
+            Arrays.sort(ids);
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.cpms.search;
+
+import com.example.cpms.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link ProjectIntervalIndex} at startup and applies committed project changes to it,
+ * exactly like {@link SearchIndexListener} does for the search index.
+ */
+@Component
+@ConditionalOnProperty(name = "cpms.active-projects.interval-index", havingValue = "true")
+@RequiredArgsConstructor
+public class ProjectIntervalIndexListener {
+
+    private final ProjectIntervalIndex intervalIndex;
+    private final ProjectRepository projectRepository;
+    private final PendingChanges pendingChanges = new PendingChanges();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<ProjectDocument> projects = projectRepository.streamSearchDocuments()) {
+            projects.forEach(intervalIndex::put);
+        }
+        pendingChanges.loaded();
+        intervalIndex.markLoaded();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        pendingChanges.apply(() -> {
+            if (event.document() == null) {
+                intervalIndex.remove(event.projectId());
+            } else {
+                intervalIndex.put(event.document());
+            }
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.cpms.search;
+
+import com.example.cpms.dto.SearchHit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over client name/company/email and project title/description.
+ * Tokens are lower-cased words; every query word matches as a prefix and all words must match.
+ * Postings are kept per owner, so a user's search only walks that user's documents.
+ * Kept current by {@link SearchIndexListener} and filled from the database at startup.
+ */
+@Component
+public class SearchIndex {
+
+    public enum Type { CLIENT, PROJECT }
+
+    private static final int DETAIL_LENGTH = 120;
+
+    private record DocKey(Type type, Long id) {
+    }
+
+    private record Entry(DocKey key, Long ownerId, String title, String detail, Set<String> tokens) {
+    }
+
+    // Owner -> token -> documents; tokens sorted so a prefix is a contiguous sub-map
+    private final Map<Long, NavigableMap<String, Set<DocKey>>> postingsByOwner = new HashMap<>();
+    private final Map<DocKey, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void putClient(ClientDocument doc) {
+        put(new Entry(new DocKey(Type.CLIENT, doc.id()), doc.ownerId(), doc.name(), doc.companyName(),
+                tokenize(doc.name(), doc.companyName(), doc.email())));
+    }
+
+    public void putProject(ProjectDocument doc) {
+        put(new Entry(new DocKey(Type.PROJECT, doc.id()), doc.ownerId(), doc.title(), abbreviate(doc.description()),
+                tokenize(doc.title(), doc.description())));
+    }
+
+    public void removeClient(Long id) {
+        remove(new DocKey(Type.CLIENT, id));
+    }
+
+    public void removeProject(Long id) {
+        remove(new DocKey(Type.PROJECT, id));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ownerId null searches every owner (admin); hits are clients first, then projects, by id
+    public List<SearchHit> search(String query, Long ownerId, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Collection<NavigableMap<String, Set<DocKey>>> scopes = (ownerId == null)
+                    ? postingsByOwner.values()
+                    : Optional.ofNullable(postingsByOwner.get(ownerId)).map(List::of).orElse(List.of());
+            List<DocKey> result = new ArrayList<>();
+            for (NavigableMap<String, Set<DocKey>> postings : scopes) {
+                result.addAll(matchAll(postings, terms));
+            }
+
+            return result.stream()
+                    .map(entries::get)
+                    .sorted(Comparator.comparing((Entry entry) -> entry.key().type()).thenComparing(entry -> entry.key().id()))
+                    .limit(limit)
+                    .map(entry -> new SearchHit(entry.key().type().name(), entry.key().id(), entry.title(), entry.detail()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents of one owner matching every term
+    private static Set<DocKey> matchAll(NavigableMap<String, Set<DocKey>> postings, Set<String> terms) {
+        List<Set<DocKey>> matches = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Set<DocKey> docs = prefixMatches(postings, term);
+            if (docs.isEmpty()) {
+                return Set.of();
+            }
+            matches.add(docs);
+        }
+        // Intersect starting from the rarest term
+        matches.sort(Comparator.comparingInt(Set::size));
+        Set<DocKey> result = new HashSet<>(matches.get(0));
+        for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+            result.retainAll(matches.get(i));
+        }
+        return result;
+    }
+
+    private static Set<DocKey> prefixMatches(NavigableMap<String, Set<DocKey>> postings, String term) {
+        Set<DocKey> docs = new HashSet<>();
+        for (Set<DocKey> posting : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            docs.addAll(posting);
+        }
+        return docs;
+    }
+
+    private void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(entry.key(), entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            NavigableMap<String, Set<DocKey>> postings = postingsByOwner.computeIfAbsent(entry.ownerId(), o -> new TreeMap<>());
+            for (String token : entry.tokens()) {
+                postings.computeIfAbsent(token, t -> new HashSet<>()).add(entry.key());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(DocKey key) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void unlink(Entry entry) {
+        NavigableMap<String, Set<DocKey>> postings = postingsByOwner.get(entry.ownerId());
+        if (postings == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            Set<DocKey> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(entry.key());
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        if (postings.isEmpty()) {
+            postingsByOwner.remove(entry.ownerId());
+        }
+    }
+
+    static Set<String> tokenize(String... fields) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (String token : field.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String abbreviate(String text) {
+        if (text == null || text.length() <= DETAIL_LENGTH) {
+            return text;
+        }
+        return text.substring(0, DETAIL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.cpms.search;
+
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link SearchIndex} and {@link ClientAutocomplete} in step with the database: filled once at startup, then
+ * updated from the change events of committed transactions (rolled-back writes never reach it).
+ * Events that arrive before the startup load has finished are applied after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+
+    private final SearchIndex searchIndex;
+    private final ClientAutocomplete clientAutocomplete;
+    private final ClientRepository clientRepository;
+    private final ProjectRepository projectRepository;
+    private final PendingChanges pendingChanges = new PendingChanges();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<ClientDocument> clients = clientRepository.streamSearchDocuments()) {
+            clients.forEach(doc -> {
+                searchIndex.putClient(doc);
+                clientAutocomplete.put(doc);
+            });
+        }
+        try (Stream<ProjectDocument> projects = projectRepository.streamSearchDocuments()) {
+            projects.forEach(searchIndex::putProject);
+        }
+        pendingChanges.loaded();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        pendingChanges.apply(() -> {
+            if (event.document() == null) {
+                searchIndex.removeClient(event.clientId());
+                clientAutocomplete.remove(event.clientId());
+            } else {
+                searchIndex.putClient(event.document());
+                clientAutocomplete.put(event.document());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        pendingChanges.apply(() -> {
+            if (event.document() == null) {
+                searchIndex.removeProject(event.projectId());
+            } else {
+                searchIndex.putProject(event.document());
+            }
+        });
+    }
+}
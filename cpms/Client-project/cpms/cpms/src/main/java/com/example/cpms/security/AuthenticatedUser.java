@@ -0,0 +1,61 @@
+package com.example.cpms.security;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight principal stored in the SecurityContext. Carries only what the services
+ * need for their ownership checks, so it can be built from the database row or from
+ * the claims of a verified JWT. The password hash is never kept on it.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, Role role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser from(UserEntity user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    // Returns null when the token was issued without the userId/role claims
+    public static AuthenticatedUser fromToken(ParsedToken token) {
+        Long userId = token.getClaim(JwtUtil.USER_ID_CLAIM, Long.class);
+        String role = token.getClaim(JwtUtil.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, token.getSubject(), Role.valueOf(role));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
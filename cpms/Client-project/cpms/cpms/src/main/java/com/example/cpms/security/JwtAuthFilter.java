@@ -2,11 +2,13 @@ package com.example.cpms.security;
 
 import com.example.cpms.exception.JwtTokenException;
 import com.example.cpms.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,13 +17,38 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    // cpms.auth.jwt, one timer per phase
+    private final Timer parseTimer;
+    private final Timer revocationTimer;
+    private final Timer userLoadTimer;
+    private final Timer validateTimer;
+
+    // When enabled, tokens carrying userId/role claims are trusted without a database lookup;
+    // revocation (logout, password or role change) is checked in memory instead
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         UserDetailsServiceImpl userDetailsService,
+                         TokenRevocationList revocationList,
+                         MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.parseTimer = phaseTimer(meterRegistry, "parse");
+        this.revocationTimer = phaseTimer(meterRegistry, "revocation");
+        this.userLoadTimer = phaseTimer(meterRegistry, "user-load");
+        this.validateTimer = phaseTimer(meterRegistry, "validate");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -38,14 +65,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
+        ParsedToken token = null;
         String username = null;
 
         try {
             // 🔹 Only check token if header exists and starts with "Bearer "
+            // 🔹 The signature is verified once here, validation below reuses the parsed claims
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtUtil.extractEmail(token);
+                token = parseTimer.recordCallable(() -> jwtUtil.parse(authHeader.substring(7)));
+                username = token.getSubject();
             }
         } catch (io.jsonwebtoken.ExpiredJwtException ex) {
             throw new JwtTokenException("JWT token has expired");
@@ -53,11 +81,38 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throw new JwtTokenException("Invalid JWT token");
         }
 
+        // 🔹 Refresh tokens only work at /api/auth/refresh; revoked tokens not at all
+        if (token != null && token.isRefreshToken()) {
+            throw new JwtTokenException("Invalid JWT token");
+        }
+        if (token != null) {
+            long started = System.nanoTime();
+            boolean revoked = revocationList.isRevoked(token);
+            revocationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (revoked) {
+                throw new JwtTokenException("JWT token has been revoked");
+            }
+        }
+
         // 🔹 Authenticate only if username is valid and not yet authenticated
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            long started = System.nanoTime();
+            UserDetails userDetails = statelessPrincipal ? AuthenticatedUser.fromToken(token) : null;
+            if (userDetails == null) {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            }
+            userLoadTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            // Tokens from before the userId claim only meet the user's cutoff once the user is loaded
+            if (token.getClaim(JwtUtil.USER_ID_CLAIM, Long.class) == null
+                    && userDetails instanceof AuthenticatedUser user
+                    && revocationList.isRevoked(token, user.getId())) {
+                throw new JwtTokenException("JWT token has been revoked");
+            }
 
-            if (jwtUtil.validateToken(token, userDetails)) {
+            started = System.nanoTime();
+            boolean valid = jwtUtil.validateToken(token, userDetails);
+            validateTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (valid) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -67,4 +122,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("cpms.auth.jwt")
+                .description("Time spent in each phase of JWT authentication")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 }
@@ -1,25 +1,63 @@
 package com.example.cpms.security;
 
+import com.example.cpms.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    // Decoded once at startup, the parser is immutable and thread-safe
+    private final Key signKey;
+    private final JwtParser jwtParser;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public JwtUtil(String secretKey) {
+        this(secretKey, Duration.ofMinutes(15), Duration.ofDays(7));
+    }
+
+    // Access tokens are short-lived, refresh tokens renew them and can be revoked (TokenRevocationList)
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                   @Value("${jwt.refresh-token-ttl:7d}") Duration refreshTokenTtl) {
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signKey).build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    // Verifies the signature and expiry once, callers read the claims from the returned token
+    public ParsedToken parse(String token) {
+        return new ParsedToken(jwtParser.parseClaimsJws(token).getBody());
+    }
 
     public String extractEmail(String token) {
         try {
@@ -34,16 +72,7 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return claimsResolver.apply(parse(token).getClaims());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -58,23 +87,46 @@ public class JwtUtil {
         return createToken(claims, emailAdrress);
     }
 
+    // Also carries the id and role so JwtAuthFilter can build the principal without a lookup
+    public String generateToken(String emailAddress, String userName, Long userId, Role role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("emailAddress", emailAddress);
+        claims.put("user", userName);
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLE_CLAIM, role.name());
+        return createToken(claims, emailAddress);
+    }
+
+    // Only good for POST /api/auth/refresh, JwtAuthFilter refuses it
+    public String generateRefreshToken(String emailAddress, Long userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN);
+        return buildToken(claims, emailAddress, refreshTokenTtl);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN);
+        return buildToken(claims, subject, accessTokenTtl);
+    }
+
+    // Every token gets a jti so it can be revoked on its own
+    private String buildToken(Map<String, Object> claims, String subject, Duration ttl) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256).compact();
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(signKey, SignatureAlgorithm.HS256).compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parse(token), userDetails);
     }
 
-
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Boolean validateToken(ParsedToken token, UserDetails userDetails) {
+        return (token.getSubject().equals(userDetails.getUsername()) && !token.isExpired());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.example.cpms.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature has already been verified by {@link JwtUtil#parse(String)}.
+ * Reading the subject, expiry or custom claims from it does not parse the token again.
+ */
+@Getter
+public class ParsedToken {
+
+    private final Claims claims;
+
+    ParsedToken(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    // The jti claim, null on tokens issued before it was added
+    public String getId() {
+        return claims.getId();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    // Tokens without the claim predate refresh tokens and are access tokens
+    public boolean isRefreshToken() {
+        return JwtUtil.REFRESH_TOKEN.equals(claims.get(JwtUtil.TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public boolean isExpired() {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.cpms.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the password encoder: new hashes are "{bcrypt}" at a cost picked for this host, older
+ * hashes (unprefixed BCrypt from before, PBKDF2, other costs) still match, and
+ * {@link PasswordEncoder#upgradeEncoding} is true for any hash that is not the current algorithm
+ * or whose cost is outside the accepted range, so UserService.login can re-hash it, up or down.
+ * Hosts that calibrate to different costs within the range leave each other's hashes alone.
+ */
+@Slf4j
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
+
+    // Cheap enough to time a few hashes at startup, costly enough for the timing to be stable
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 5;
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(int bcryptStrength) {
+        return create(bcryptStrength, bcryptStrength, bcryptStrength);
+    }
+
+    /**
+     * Encodes at {@code bcryptStrength} and only asks for a re-hash of BCrypt hashes whose cost is
+     * below {@code minAccepted} or above {@code maxAccepted}.
+     */
+    public static PasswordEncoder create(int bcryptStrength, int minAccepted, int maxAccepted) {
+        if (bcryptStrength < minAccepted || bcryptStrength > maxAccepted) {
+            throw new IllegalArgumentException("BCrypt cost " + bcryptStrength
+                    + " is outside the accepted range [" + minAccepted + ", " + maxAccepted + "]");
+        }
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new CostRangeBCryptPasswordEncoder(bcryptStrength, minAccepted, maxAccepted));
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, encoders);
+        // Hashes stored before the {id} prefix are plain BCrypt at whatever cost they carry
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * The highest BCrypt cost in [min, max] whose hash is estimated to take at most {@code target}
+     * on this host, or {@code min} if even that is slower. Each cost step doubles the work, so
+     * timing a cheap cost and scaling is enough.
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        probe.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            if (estimate(best, candidate) <= target.toNanos()) {
+                strength = candidate;
+            }
+        }
+        log.info("BCrypt cost {} selected, about {} ms per hash (target {} ms)",
+                strength, estimate(best, strength) / 1_000_000, target.toMillis());
+        return strength;
+    }
+
+    private static long estimate(long probeNanos, int strength) {
+        int steps = strength - PROBE_STRENGTH;
+        return (steps >= 0) ? probeNanos << steps : probeNanos >> -steps;
+    }
+
+    // BCryptPasswordEncoder only asks for an upgrade when the stored cost is lower, we also want lower
+    static final class CostRangeBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+
+        private final int minAccepted;
+        private final int maxAccepted;
+
+        CostRangeBCryptPasswordEncoder(int strength, int minAccepted, int maxAccepted) {
+            super(strength);
+            this.minAccepted = minAccepted;
+            this.maxAccepted = maxAccepted;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher matcher = COST.matcher(encodedPassword);
+            if (!matcher.find()) {
+                return true;
+            }
+            int cost = Integer.parseInt(matcher.group(1));
+            return cost < minAccepted || cost > maxAccepted;
+        }
+    }
+}
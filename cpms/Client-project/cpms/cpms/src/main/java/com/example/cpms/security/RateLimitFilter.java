@@ -0,0 +1,72 @@
+package com.example.cpms.security;
+
+import com.example.cpms.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs right after JwtAuthFilter and turns away requests over the user's {@link RateLimiter}
+ * budget with 429, before any controller, service or database work. Unauthenticated requests are
+ * left to the rest of the chain.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cpms.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!enabled || authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Group group = RateLimiter.Group.of(request.getServletPath());
+        long waitNanos = rateLimiter.tryAcquire(user.getId(), user.getRole(), group);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("cpms.rate-limit.rejected",
+                "group", group.name().toLowerCase(Locale.ROOT),
+                "role", user.getRole().name().toLowerCase(Locale.ROOT)).increment();
+        // Whole seconds, rounded up
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long retryAfterSeconds = (waitNanos + second - 1) / second;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiResponse<String> apiResponse =
+                ApiResponse.error("Too many requests - retry in " + retryAfterSeconds + " second(s)");
+        response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+    }
+}
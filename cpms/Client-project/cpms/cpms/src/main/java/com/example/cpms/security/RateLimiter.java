@@ -0,0 +1,135 @@
+package com.example.cpms.security;
+
+import com.example.cpms.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token buckets, one per endpoint group, with the refill rate set by the user's role
+ * (cpms.rate-limit.&lt;role&gt;.&lt;group&gt;, requests per second, 0 for no limit) and room for
+ * burst-seconds worth of requests.
+ * <p>
+ * Each bucket is a single AtomicLong holding the time at which it will be full again (the GCRA
+ * form of a token bucket), updated with compare-and-set, so concurrent requests of one user never
+ * block each other or anyone else. Buckets idle for idle-timeout are dropped, they would be full
+ * anyway, and max-buckets caps the memory.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Group {
+        CLIENTS("/api/clients"),
+        PROJECTS("/api/projects"),
+        OTHER(null);
+
+        private final String prefix;
+
+        Group(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public static Group of(String path) {
+            for (Group group : values()) {
+                if (group.prefix != null && (path.equals(group.prefix) || path.startsWith(group.prefix + "/"))) {
+                    return group;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    // One request per interval, up to tolerance ahead of schedule
+    record Limit(long intervalNanos, long toleranceNanos) {
+
+        static Limit of(int perSecond, Duration burst) {
+            if (perSecond <= 0) {
+                return null;
+            }
+            long interval = TimeUnit.SECONDS.toNanos(1) / perSecond;
+            long burstRequests = Math.max(1, perSecond * burst.toMillis() / 1000);
+            return new Limit(interval, interval * (burstRequests - 1));
+        }
+    }
+
+    private record Key(long userId, Group group) {
+    }
+
+    private final Map<Role, Map<Group, Limit>> limits;
+    private final Cache<Key, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(Environment environment,
+                       @Value("${cpms.rate-limit.burst:3s}") Duration burst,
+                       @Value("${cpms.rate-limit.max-buckets:100000}") long maxBuckets,
+                       @Value("${cpms.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this(readLimits(environment, burst), maxBuckets, idleTimeout, System::nanoTime);
+    }
+
+    RateLimiter(Map<Role, Map<Group, Limit>> limits, long maxBuckets, Duration idleTimeout, LongSupplier clock) {
+        this.limits = limits;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Takes one request from the user's bucket for the group. Returns 0 when it is allowed,
+     * otherwise the nanoseconds until the next request would be.
+     */
+    public long tryAcquire(long userId, Role role, Group group) {
+        Limit limit = limits.getOrDefault(role, Map.of()).get(group);
+        if (limit == null) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        // A new bucket starts full
+        AtomicLong fullAt = buckets.get(new Key(userId, group), key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long wait = start - now - limit.toleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    public long bucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    private static Map<Role, Map<Group, Limit>> readLimits(Environment environment, Duration burst) {
+        Map<Role, Map<Group, Limit>> limits = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            Map<Group, Limit> byGroup = new EnumMap<>(Group.class);
+            for (Group group : Group.values()) {
+                String property = "cpms.rate-limit." + role.name().toLowerCase(Locale.ROOT)
+                        + "." + group.name().toLowerCase(Locale.ROOT);
+                Limit limit = Limit.of(environment.getProperty(property, Integer.class, 0), burst);
+                if (limit != null) {
+                    byGroup.put(group, limit);
+                }
+            }
+            limits.put(role, byGroup);
+        }
+        return limits;
+    }
+}
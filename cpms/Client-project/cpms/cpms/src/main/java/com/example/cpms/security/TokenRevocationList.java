@@ -0,0 +1,188 @@
+package com.example.cpms.security;
+
+import com.example.cpms.entity.RevokedTokenEntity;
+import com.example.cpms.entity.TokenCutoffEntity;
+import com.example.cpms.repository.RevokedTokenRepository;
+import com.example.cpms.repository.TokenCutoffRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens, checked by JwtAuthFilter on every request without touching the database.
+ * <p>
+ * Single tokens (logout, rotated refresh tokens) are looked up by jti in a Bloom filter first:
+ * almost every token is not revoked and is answered there, and the rare maybe is confirmed
+ * against the exact map. Password and role changes revoke every token of the user issued before
+ * a cutoff. Both are written to the database and loaded back at startup, and forgotten once the
+ * tokens they reject have expired. Like the search index, this assumes a single instance.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements InitializingBean {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenCutoffRepository tokenCutoffRepository;
+    private final Duration longestTokenTtl;
+    private final long expectedRevocations;
+    private final Clock clock;
+
+    // jti -> expiry in epoch seconds
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // userId -> tokens issued before this epoch second are revoked
+    private final Map<Long, Long> cutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               TokenCutoffRepository tokenCutoffRepository,
+                               @Value("${jwt.refresh-token-ttl:7d}") Duration refreshTokenTtl,
+                               @Value("${jwt.revocation.expected-tokens:100000}") long expectedRevocations) {
+        this(revokedTokenRepository, tokenCutoffRepository, refreshTokenTtl, expectedRevocations, Clock.systemUTC());
+    }
+
+    TokenRevocationList(RevokedTokenRepository revokedTokenRepository, TokenCutoffRepository tokenCutoffRepository,
+                        Duration refreshTokenTtl, long expectedRevocations, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenCutoffRepository = tokenCutoffRepository;
+        this.longestTokenTtl = refreshTokenTtl;
+        this.expectedRevocations = expectedRevocations;
+        this.clock = clock;
+        this.filter = new BloomFilter(expectedRevocations, 0.01);
+    }
+
+    // Before the web server starts, so no request is checked against an empty list
+    @Override
+    public void afterPropertiesSet() {
+        Instant now = clock.instant();
+        for (RevokedTokenEntity token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revoked.put(token.getJti(), token.getExpiresAt().getEpochSecond());
+        }
+        for (TokenCutoffEntity cutoff : tokenCutoffRepository.findByNotBeforeAfter(now.minus(longestTokenTtl))) {
+            cutoffs.put(cutoff.getUserId(), cutoff.getNotBefore().getEpochSecond());
+        }
+        rebuildFilter();
+        log.info("Token revocation list loaded: {} tokens, {} user cutoffs", revoked.size(), cutoffs.size());
+    }
+
+    public boolean isRevoked(ParsedToken token) {
+        return isRevoked(token, token.getClaim(JwtUtil.USER_ID_CLAIM, Long.class));
+    }
+
+    /**
+     * Like {@link #isRevoked(ParsedToken)}, with the user id known from elsewhere: tokens issued
+     * before they carried a userId claim only meet the user's cutoff once the user is loaded.
+     */
+    public boolean isRevoked(ParsedToken token, Long userId) {
+        if (userId != null && token.getIssuedAt() != null) {
+            Long notBefore = cutoffs.get(userId);
+            if (notBefore != null && token.getIssuedAt().toInstant().getEpochSecond() < notBefore) {
+                return true;
+            }
+        }
+        String jti = token.getId();
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    // Tokens without a jti (issued before they had one) cannot be revoked one by one
+    public void revoke(ParsedToken token) {
+        if (token.getId() == null || token.getExpiration() == null) {
+            return;
+        }
+        Instant expiresAt = token.getExpiration().toInstant();
+        revokedTokenRepository.insertIfAbsent(token.getId(), expiresAt);
+        // Against purge() swapping the filter between our map and filter writes
+        synchronized (this) {
+            revoked.put(token.getId(), expiresAt.getEpochSecond());
+            filter.add(token.getId());
+        }
+    }
+
+    /**
+     * Revokes a single-use token and returns true, or returns false if it was already revoked
+     * (or has no jti). Of two concurrent claims of the same token exactly one succeeds: the map
+     * decides within this instance, the primary key of revoked_tokens across instances.
+     */
+    public boolean claim(ParsedToken token) {
+        if (token.getId() == null || token.getExpiration() == null || isRevoked(token)) {
+            return false;
+        }
+        String jti = token.getId();
+        long expiresAt = token.getExpiration().toInstant().getEpochSecond();
+        synchronized (this) {
+            if (revoked.putIfAbsent(jti, expiresAt) != null) {
+                return false;
+            }
+            filter.add(jti);
+        }
+        try {
+            return revokedTokenRepository.insertIfAbsent(jti, Instant.ofEpochSecond(expiresAt)) == 1;
+        } catch (RuntimeException e) {
+            // Not stored, so not used either: the client may retry with the same token
+            revoked.remove(jti, expiresAt);
+            throw e;
+        }
+    }
+
+    /**
+     * Revokes every token the user holds. JWT issue times are whole seconds, so tokens issued
+     * later in the current second are revoked too; a login right after a password change may
+     * have to be repeated a second later.
+     */
+    public void revokeAll(Long userId) {
+        Instant notBefore = Instant.ofEpochSecond(clock.instant().getEpochSecond() + 1);
+        TokenCutoffEntity entity = new TokenCutoffEntity();
+        entity.setUserId(userId);
+        entity.setNotBefore(notBefore);
+        tokenCutoffRepository.save(entity);
+        // Rejecting tokens before the change commits would outlast a rollback
+        afterCommit(() -> cutoffs.merge(userId, notBefore.getEpochSecond(), Math::max));
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Expired tokens no longer need revoking; the Bloom filter cannot forget, so it is rebuilt
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT10M}")
+    public void purge() {
+        Instant now = clock.instant();
+        long nowSecond = now.getEpochSecond();
+        long cutoffHorizon = now.minus(longestTokenTtl).getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowSecond);
+        cutoffs.values().removeIf(notBefore -> notBefore <= cutoffHorizon);
+        rebuildFilter();
+        revokedTokenRepository.deleteExpired(now);
+        tokenCutoffRepository.deleteOlderThan(now.minus(longestTokenTtl));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), 0.01);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.cpms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of authenticated principals keyed by email.
+ * Sits in front of the user lookup done by JwtAuthFilter on every request.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserPrincipalCache(
+            @Value("${cpms.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${cpms.security.user-cache.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Hit rate and size as cache.gets and cache.size with cache="user-principals"
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-principals");
+    }
+
+    // Exceptions thrown by the loader (e.g. user not found) propagate and nothing is cached
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
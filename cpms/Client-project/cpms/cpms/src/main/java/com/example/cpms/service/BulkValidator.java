@@ -0,0 +1,50 @@
+package com.example.cpms.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Row-level validation for the bulk endpoints: an invalid row is reported in the
+ * result instead of rejecting the whole request like @Valid would.
+ */
+@Component
+public class BulkValidator {
+
+    private final Validator validator;
+    private final int maxRows;
+
+    public BulkValidator(Validator validator, @Value("${cpms.bulk.max-rows:1000}") int maxRows) {
+        this.validator = validator;
+        this.maxRows = maxRows;
+    }
+
+    public void checkSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one row");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("Bulk request exceeds the limit of " + maxRows + " rows");
+        }
+    }
+
+    // Returns the violations as "field: message", or null when the row is valid
+    public String validate(Object row) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
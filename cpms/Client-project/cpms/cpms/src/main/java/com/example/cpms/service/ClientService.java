@@ -208,20 +208,39 @@
 package com.example.cpms.service;
 
 import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.BulkResult;
+import com.example.cpms.dto.BulkRowResult;
 import com.example.cpms.dto.ClientRequest;
 import com.example.cpms.dto.ClientResponseDto;
+import com.example.cpms.dto.CursorPage;
 import com.example.cpms.entity.ClientEntity;
 import com.example.cpms.entity.Role;
 import com.example.cpms.entity.UserEntity;
 import com.example.cpms.exception.AccessDeniedException;
-import com.example.cpms.exception.ResourceAlreadyExistsException;
+import com.example.cpms.exception.PreconditionFailedException;
 import com.example.cpms.exception.ResourceNotFoundException;
+import com.example.cpms.exception.UniqueConstraintTranslator;
+import com.example.cpms.mapper.ClientMapper;
 import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.search.ClientChangedEvent;
+import com.example.cpms.search.ClientDocument;
+import com.example.cpms.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -229,82 +248,138 @@ import java.util.stream.Collectors;
 public class ClientService {
 
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final UserRepository userRepository;
+    private final ClientMapper clientMapper;
+    private final Pagination pagination;
+    private final BulkValidator bulkValidator;
+    private final ProjectCounterService projectCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OwnerVersionService ownerVersionService;
 
     //Return ClientEntity (let controller convert to DTO)
-    public ApiResponse<ClientResponseDto> addClient(ClientRequest request, UserEntity user) {
-        // Check for duplicate email
-        if (clientRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResourceAlreadyExistsException("Client with email " + request.getEmail() + " already exists");
-        }
-
-        // Check for duplicate name for the same user
-        if (clientRepository.findByUserAndName(user, request.getName()).isPresent()) {
-            throw new ResourceAlreadyExistsException("Client with name '" + request.getName() + "' already exists for you");
-        }
-
+    @Transactional
+    public ApiResponse<ClientResponseDto> addClient(ClientRequest request, AuthenticatedUser user) {
+        // Duplicate email/name are rejected by the unique constraints, see saveClient
         ClientEntity client = new ClientEntity();
         client.setName(request.getName());
         client.setEmail(request.getEmail());
         client.setPhone(request.getPhone());
         client.setCompanyName(request.getCompanyName());
-        client.setUser(user);
+        client.setUser(userRepository.getReferenceById(user.getId()));
 
         
 
-        ClientEntity savedClient=clientRepository.save(client);
-        ClientResponseDto dto=modelMapper.map(savedClient, ClientResponseDto.class);
+        ClientEntity savedClient=saveClient(client);
+        ownerVersionService.bump(user.getId());
+        eventPublisher.publishEvent(ClientChangedEvent.saved(ClientDocument.from(savedClient)));
+        ClientResponseDto dto=clientMapper.toDto(savedClient);
 
         return ApiResponse.success("Client added successfully", dto);
 
     }
 
-     // Get All Clients CLientResponseDto
+    // Creates many clients in one transaction; rows that fail validation or a duplicate check are reported, not thrown
+    @Transactional
+    public ApiResponse<BulkResult<ClientResponseDto>> addClients(List<ClientRequest> requests, AuthenticatedUser user) {
+        bulkValidator.checkSize(requests);
 
-    public ApiResponse<List<ClientResponseDto>> getAllClients(UserEntity user) {
-        List<ClientEntity> clients = (user.getRole() == Role.ADMIN)
-                ? clientRepository.findAll()
-                : clientRepository.findByUser(user);
+        Set<String> emails = requests.stream().filter(Objects::nonNull)
+                .map(ClientRequest::getEmail).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> names = requests.stream().filter(Objects::nonNull)
+                .map(ClientRequest::getName).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(clientRepository.findExistingEmails(emails));
+        Set<String> takenNames = names.isEmpty() ? new HashSet<>() : new HashSet<>(clientRepository.findExistingNames(user.getId(), names));
 
-        List<ClientResponseDto> dtoList = clients.stream()
-                .map(c -> modelMapper.map(c, ClientResponseDto.class))
-                .collect(Collectors.toList());
+        UserEntity owner = userRepository.getReferenceById(user.getId());
+        List<BulkRowResult<ClientResponseDto>> rows = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<Integer> indexes = new ArrayList<>();
+        List<ClientEntity> clients = new ArrayList<>();
 
-        return ApiResponse.success("Clients retrieved successfully", dtoList);
-    }
+        for (int i = 0; i < requests.size(); i++) {
+            ClientRequest request = requests.get(i);
+            String error = bulkValidator.validate(request);
+            if (error == null && takenEmails.contains(request.getEmail())) {
+                error = "Client with email " + request.getEmail() + " already exists";
+            } else if (error == null && takenNames.contains(request.getName())) {
+                error = "Client with name '" + request.getName() + "' already exists for you";
+            }
+            if (error != null) {
+                rows.set(i, BulkRowResult.failed(i, error));
+                continue;
+            }
+            // Later rows in the same request are checked against the accepted ones
+            takenEmails.add(request.getEmail());
+            takenNames.add(request.getName());
 
-    //  Get Client By Id from ClientResponseDto
-    public ApiResponse<ClientResponseDto> getClientById(Long id, UserEntity user) {
-        ClientEntity client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+            ClientEntity client = new ClientEntity();
+            client.setName(request.getName());
+            client.setEmail(request.getEmail());
+            client.setPhone(request.getPhone());
+            client.setCompanyName(request.getCompanyName());
+            client.setUser(owner);
+            clients.add(client);
+            indexes.add(i);
+        }
 
-        if (user.getRole() != Role.ADMIN && !client.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("Access denied - You don't have permission to access this client");
+        // Ids come from the pooled sequence, the INSERTs are sent as JDBC batches on flush
+        List<ClientEntity> saved = clientRepository.saveAll(clients);
+        if (!saved.isEmpty()) {
+            ownerVersionService.bump(user.getId());
+        }
+        for (int k = 0; k < saved.size(); k++) {
+            int index = indexes.get(k);
+            rows.set(index, BulkRowResult.created(index, clientMapper.toDto(saved.get(k))));
+            eventPublisher.publishEvent(ClientChangedEvent.saved(ClientDocument.from(saved.get(k))));
         }
 
-        ClientResponseDto dto = modelMapper.map(client, ClientResponseDto.class);
-        return ApiResponse.success("Client retrieved successfully", dto);
+        BulkResult<ClientResponseDto> result = BulkResult.of(rows);
+        return ApiResponse.success("Bulk import finished: " + result.getCreated() + " created, "
+                + result.getFailed() + " failed", result);
     }
 
-    //  Return ClientEntity (let controller convert to DTO)
-    public ApiResponse<ClientResponseDto> updateClient(Long id, ClientRequest request, UserEntity user) {
-        ClientEntity client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+     // Get All Clients CLientResponseDto, one keyset page at a time
 
-        if (user.getRole() != Role.ADMIN && !client.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("Access denied - You don't have permission to update this client");
-        }
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPage<ClientResponseDto>> getAllClients(AuthenticatedUser user, String cursor, Integer limit) {
+        long afterId = pagination.decodeCursor(cursor);
+        int pageSize = pagination.resolveLimit(limit);
 
-        // Check for duplicate email (if it's being changed)
-        if (!client.getEmail().equals(request.getEmail()) &&
-                clientRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResourceAlreadyExistsException("Client with email " + request.getEmail() + " already exists");
-        }
+        List<ClientResponseDto> clients = (user.getRole() == Role.ADMIN)
+                ? clientRepository.findDtoPage(afterId, Limit.of(pageSize + 1))
+                : clientRepository.findDtoPageByUser(user.getId(), afterId, Limit.of(pageSize + 1));
+
+        CursorPage<ClientResponseDto> page = pagination.page(clients, pageSize, ClientResponseDto::getId);
+
+        return ApiResponse.success("Clients retrieved successfully", page);
+    }
+
+    // Current ETag of a client the user may read, from its version column; null when it is not visible
+    @Transactional(readOnly = true)
+    public String getClientEtag(Long id, AuthenticatedUser user) {
+        Optional<Long> version = (user.getRole() == Role.ADMIN)
+                ? clientRepository.findVersionById(id)
+                : clientRepository.findVersionByIdAndUserId(id, user.getId());
+        return version.map(v -> ETags.client(id, v)).orElse(null);
+    }
+
+    //  Get Client By Id from ClientResponseDto
+    @Transactional(readOnly = true)
+    public ApiResponse<ClientResponseDto> getClientById(Long id, AuthenticatedUser user) {
+        ClientEntity client = findAccessibleClient(id, user,
+                "Access denied - You don't have permission to access this client");
+
+        ClientResponseDto dto = clientMapper.toDto(client);
+        return ApiResponse.success("Client retrieved successfully", dto);
+    }
 
-        // Check for duplicate name (if it's being changed)
-        if (!client.getName().equals(request.getName()) &&
-                clientRepository.findByUserAndName(user, request.getName()).isPresent()) {
-            throw new ResourceAlreadyExistsException("Client with name '" + request.getName() + "' already exists for you");
+    //  Return ClientEntity (let controller convert to DTO)
+    @Transactional
+    public ApiResponse<ClientResponseDto> updateClient(Long id, ClientRequest request, AuthenticatedUser user, String ifMatch) {
+        ClientEntity client = findAccessibleClient(id, user,
+                "Access denied - You don't have permission to update this client");
+        // Compared with the version read in this transaction; @Version catches anything committed after it
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.client(id, client.getVersion()))) {
+            throw new PreconditionFailedException("Client " + id + " has been modified since it was read");
         }
 
         client.setName(request.getName());
@@ -312,8 +387,10 @@ public class ClientService {
         client.setPhone(request.getPhone());
         client.setCompanyName(request.getCompanyName());
 
-        ClientEntity updatedClient = clientRepository.save(client);
-        ClientResponseDto dto = modelMapper.map(updatedClient, ClientResponseDto.class);
+        ClientEntity updatedClient = saveClient(client);
+        ownerVersionService.bump(updatedClient.getUser().getId());
+        eventPublisher.publishEvent(ClientChangedEvent.saved(ClientDocument.from(updatedClient)));
+        ClientResponseDto dto = clientMapper.toDto(updatedClient);
 
         return ApiResponse.success("Client updated successfully", dto);
 
@@ -322,15 +399,46 @@ public class ClientService {
     }
 
     //  Return void (let controller handle success response)
-    public ApiResponse<String> deleteClient(Long id, UserEntity user) {
-        ClientEntity client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
-
-        if (user.getRole() != Role.ADMIN && !client.getUser().getId().equals(user.getId())) {
-            throw new AccessDeniedException("Access denied - You don't have permission to delete this client");
+    @Transactional
+    public ApiResponse<String> deleteClient(Long id, AuthenticatedUser user) {
+        // Single DELETE scoped to the owner, the row is never loaded; admins look up whose version to bump
+        boolean admin = user.getRole() == Role.ADMIN;
+        Long ownerId = admin ? clientRepository.findOwnerIdById(id).orElse(null) : user.getId();
+        int deleted = admin
+                ? clientRepository.deleteClientById(id)
+                : clientRepository.deleteOwnedById(id, user.getId());
+        if (deleted == 0) {
+            throw deniedOrNotFound(id, "Access denied - You don't have permission to delete this client");
         }
-
-        clientRepository.delete(client);
+        ownerVersionService.bump(ownerId);
+        projectCounterService.clientDeleted(id);
+        eventPublisher.publishEvent(ClientChangedEvent.deleted(id));
         return ApiResponse.success("Client deleted successfully", null);
     }
+
+    // One lookup by id and owner; the existence check only runs when nothing matched
+    private ClientEntity findAccessibleClient(Long id, AuthenticatedUser user, String deniedMessage) {
+        Optional<ClientEntity> client = (user.getRole() == Role.ADMIN)
+                ? clientRepository.findById(id)
+                : clientRepository.findByIdAndUser_Id(id, user.getId());
+        return client.orElseThrow(() -> deniedOrNotFound(id, deniedMessage));
+    }
+
+    // Keeps the 403 (someone else's client) vs 404 (no such client) distinction of the load-then-check version
+    private RuntimeException deniedOrNotFound(Long id, String deniedMessage) {
+        return clientRepository.existsById(id)
+                ? new AccessDeniedException(deniedMessage)
+                : new ResourceNotFoundException("Client not found with id: " + id);
+    }
+
+    // Flushes so a unique-constraint violation surfaces here and maps to the usual duplicate message
+    private ClientEntity saveClient(ClientEntity client) {
+        try {
+            return clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintTranslator.translate(e, Map.of(
+                    ClientEntity.UK_EMAIL, "Client with email " + client.getEmail() + " already exists",
+                    ClientEntity.UK_USER_NAME, "Client with name '" + client.getName() + "' already exists for you"));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.cpms.service;
+
+/**
+ * Strong ETags derived from version columns, so they can be compared without loading or
+ * serializing the resource. Values are quoted as HTTP requires.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String client(Long id, long version) {
+        return "\"client-" + id + "-v" + version + "\"";
+    }
+
+    // Everything one owner can list
+    public static String ownerData(Long ownerId, long version) {
+        return "\"owner-" + ownerId + "-v" + version + "\"";
+    }
+
+    // Everything an admin can list
+    public static String allData(long version) {
+        return "\"all-v" + version + "\"";
+    }
+
+    // An If-Match header may be "*" or a comma separated list of tags
+    public static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
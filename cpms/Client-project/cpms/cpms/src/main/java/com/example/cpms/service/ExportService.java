@@ -0,0 +1,128 @@
+package com.example.cpms.service;
+
+import com.example.cpms.dto.ClientResponseDto;
+import com.example.cpms.dto.ExportFormat;
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.Role;
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams clients and projects straight from a database cursor to the response body.
+ * Rows are written one at a time, so memory use does not depend on the table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final String[] PROJECT_COLUMNS =
+            {"id", "title", "description", "startDate", "endDate", "status", "clientId", "clientName"};
+    private static final String[] CLIENT_COLUMNS = {"id", "name", "email", "phone", "companyName"};
+
+    private final ProjectRepository projectRepository;
+    private final ClientRepository clientRepository;
+    private final ObjectMapper objectMapper;
+
+    // The transaction keeps the cursor open while the rows are written
+    @Transactional(readOnly = true)
+    public void exportProjects(AuthenticatedUser currentUser, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ProjectResponseDto> rows = (currentUser.getRole() == Role.ADMIN)
+                ? projectRepository.streamAllForExport()
+                : projectRepository.streamByUserForExport(currentUser.getId())) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, PROJECT_COLUMNS, p -> new Object[]{
+                        p.getId(), p.getTitle(), p.getDescription(), p.getStartDate(), p.getEndDate(),
+                        p.getStatus(), p.getClientId(), p.getClientName()}, out);
+            } else {
+                writeNdjson(rows, ProjectResponseDto.class, out);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportClients(AuthenticatedUser currentUser, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ClientResponseDto> rows = (currentUser.getRole() == Role.ADMIN)
+                ? clientRepository.streamAllForExport()
+                : clientRepository.streamByUserForExport(currentUser.getId())) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, CLIENT_COLUMNS, c -> new Object[]{
+                        c.getId(), c.getName(), c.getEmail(), c.getPhone(), c.getCompanyName()}, out);
+            } else {
+                writeNdjson(rows, ClientResponseDto.class, out);
+            }
+        }
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, Class<T> type, OutputStream out) throws IOException {
+        // Flushing after every row would turn each line into its own network write
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private <T> void writeCsv(Stream<T> rows, String[] header, Function<T, Object[]> columns, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, header);
+        try {
+            rows.forEach(row -> {
+                try {
+                    writeCsvLine(writer, columns.apply(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.cpms.service;
+
+import com.example.cpms.cache.OwnerDataChangedEvent;
+import com.example.cpms.entity.Role;
+import com.example.cpms.repository.OwnerVersionRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Per-owner data versions behind the ETags of the list endpoints. Writes bump the version of
+ * every owner whose lists they change; a conditional GET compares the ETag with one row instead
+ * of running the list query. Each bump is also published so in-memory caches drop the owners' entries.
+ */
+@Service
+@RequiredArgsConstructor
+public class OwnerVersionService {
+
+    private final OwnerVersionRepository ownerVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // MANDATORY: the bump must commit together with the write, or a stale ETag could outlive it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Collection<Long> ownerIds) {
+        Set<Long> owners = new LinkedHashSet<>(ownerIds);
+        owners.remove(null);
+        for (Long ownerId : owners) {
+            // A lost insert race means the row now exists, so our write still needs its own bump
+            if (ownerVersionRepository.bump(ownerId) == 0 && ownerVersionRepository.insertIfAbsent(ownerId) == 0) {
+                ownerVersionRepository.bump(ownerId);
+            }
+        }
+        eventPublisher.publishEvent(new OwnerDataChangedEvent(owners));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long... ownerIds) {
+        bump(Arrays.asList(ownerIds));
+    }
+
+    // ETag of what the user's list endpoints currently return; admins list every owner
+    @Transactional(readOnly = true)
+    public String dataEtag(AuthenticatedUser user) {
+        if (user.getRole() == Role.ADMIN) {
+            return ETags.allData(ownerVersionRepository.sumDataVersions());
+        }
+        long version = ownerVersionRepository.findDataVersion(user.getId()).orElse(0L);
+        return ETags.ownerData(user.getId(), version);
+    }
+}
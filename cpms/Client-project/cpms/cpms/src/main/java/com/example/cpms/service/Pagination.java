@@ -0,0 +1,70 @@
+package com.example.cpms.service;
+
+import com.example.cpms.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination helpers shared by the list endpoints. Pages are ordered by id and
+ * the cursor is the last id of the previous page, encoded so clients treat it as opaque.
+ */
+@Component
+public class Pagination {
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public Pagination(@Value("${cpms.pagination.default-limit:50}") int defaultLimit,
+                      @Value("${cpms.pagination.max-limit:500}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    // Returns 0 for the first page, ids are always positive
+    public long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Rows must have been fetched with limit + 1 so we know whether another page exists
+    public <E, D> CursorPage<D> page(List<E> rows, int limit, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+
+        List<D> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor, limit);
+    }
+
+    // For rows that are already DTOs (projection queries)
+    public <D> CursorPage<D> page(List<D> rows, int limit, Function<D, Long> idOf) {
+        return page(rows, limit, idOf, Function.identity());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.cpms.service;
+
+import com.example.cpms.entity.ProjectCounterEntity;
+import com.example.cpms.entity.ProjectStatus;
+import com.example.cpms.repository.ProjectCounterRepository;
+import com.example.cpms.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the project_counters table. Project and client writes adjust it inside their own
+ * transaction; a scheduled rebuild recomputes it from the projects table to repair any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectCounterService {
+
+    private final ProjectCounterRepository counterRepository;
+    private final ProjectRepository projectRepository;
+
+    private record CounterKey(Long clientId, Long ownerId, ProjectStatus status) {
+    }
+
+    /** One counter change of {@link #adjustAll}. */
+    public record Delta(Long clientId, ProjectStatus status, long delta) {
+    }
+
+    // The order findAllForUpdate() locks rows in, for the rows of one owner
+    private static final Comparator<Delta> LOCK_ORDER =
+            Comparator.comparing(Delta::clientId).thenComparing(delta -> delta.status().name());
+
+    // MANDATORY: the counter change must commit or roll back together with the project change.
+    // ownerId is the project's owner, not the client's
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(Long clientId, Long ownerId, ProjectStatus status, long delta) {
+        if (clientId == null || ownerId == null || status == null || delta == 0) {
+            return;
+        }
+        if (counterRepository.addToCount(clientId, ownerId, status, delta) > 0) {
+            return;
+        }
+        // First project of this key; a missing row on a decrement is left to the rebuild.
+        // A lost insert race means the row now exists, so our delta still has to be added to it
+        if (delta > 0 && counterRepository.insertIfAbsent(clientId, ownerId, status.name(), delta) == 0) {
+            counterRepository.addToCount(clientId, ownerId, status, delta);
+        }
+    }
+
+    // Several counters of one owner, taken in the rebuild's lock order so existing rows cannot deadlock with it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustAll(Long ownerId, Collection<Delta> deltas) {
+        deltas.stream()
+                .filter(delta -> delta.clientId() != null && delta.status() != null)
+                .sorted(LOCK_ORDER)
+                .forEach(delta -> adjust(delta.clientId(), ownerId, delta.status(), delta.delta()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clientDeleted(Long clientId) {
+        counterRepository.deleteByClientId(clientId);
+    }
+
+    // Fills the table on the first start after the counters were introduced
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (counterRepository.count() == 0 && projectRepository.count() > 0) {
+            correctDrift();
+        }
+    }
+
+    @Scheduled(cron = "${cpms.counters.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        correctDrift();
+    }
+
+    // Compares every counter with a GROUP BY over projects and only writes the rows that differ.
+    // The counter rows are locked before the count: an adjust running meanwhile either committed
+    // first (its project is in the count) or waits and applies its delta on top of the corrected value
+    private void correctDrift() {
+        Map<CounterKey, ProjectCounterEntity> existing = new HashMap<>();
+        for (ProjectCounterEntity counter : counterRepository.findAllForUpdate()) {
+            existing.put(new CounterKey(counter.getClientId(), counter.getUserId(), counter.getStatus()), counter);
+        }
+
+        int corrected = 0;
+        List<Object[]> actual = projectRepository.countByClientOwnerAndStatus();
+        for (Object[] row : actual) {
+            Long clientId = (Long) row[0];
+            Long ownerId = (Long) row[1];
+            ProjectStatus status = (ProjectStatus) row[2];
+            long count = (Long) row[3];
+
+            ProjectCounterEntity counter = existing.remove(new CounterKey(clientId, ownerId, status));
+            if (counter == null) {
+                // Not locked because it did not exist; a request creating it at the same time keeps its
+                // own row and any difference is corrected by the next rebuild
+                if (counterRepository.insertIfAbsent(clientId, ownerId, status.name(), count) > 0) {
+                    corrected++;
+                }
+            } else if (counter.getProjectCount() != count) {
+                // Managed and locked, the change is flushed at commit
+                counter.setProjectCount(count);
+                corrected++;
+            }
+        }
+
+        // Rows for keys that no longer have any project
+        counterRepository.deleteAll(existing.values());
+        corrected += existing.size();
+
+        log.info("Project counters rebuilt: {} rows corrected", corrected);
+    }
+}
@@ -235,19 +235,50 @@
 package com.example.cpms.service;
 
 import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.BulkResult;
+import com.example.cpms.dto.BulkRowResult;
+import com.example.cpms.dto.ClientProjectStats;
+import com.example.cpms.dto.CursorPage;
+import com.example.cpms.dto.OwnerProjectCount;
+import com.example.cpms.dto.ProjectCountRow;
+import com.example.cpms.dto.ProjectFilter;
 import com.example.cpms.dto.ProjectRequest;
 import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.dto.ProjectStatsDto;
 import com.example.cpms.entity.*;
 import com.example.cpms.exception.AccessDeniedException;
-import com.example.cpms.exception.ResourceAlreadyExistsException;
 import com.example.cpms.exception.ResourceNotFoundException;
+import com.example.cpms.exception.UniqueConstraintTranslator;
+import com.example.cpms.mapper.ProjectMapper;
 import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.ProjectCounterRepository;
 import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.search.ProjectChangedEvent;
+import com.example.cpms.search.ProjectDocument;
+import com.example.cpms.search.ProjectIntervalIndex;
+import com.example.cpms.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -256,19 +287,24 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final UserRepository userRepository;
+    private final ProjectMapper projectMapper;
+    private final Pagination pagination;
+    private final BulkValidator bulkValidator;
+    private final ProjectCounterRepository projectCounterRepository;
+    private final ProjectCounterService projectCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OwnerVersionService ownerVersionService;
+    // Only present with cpms.active-projects.interval-index=true
+    private final ObjectProvider<ProjectIntervalIndex> intervalIndex;
 
-    public ApiResponse<ProjectResponseDto> addProject(ProjectRequest request, UserEntity currentUser) {
-        ClientEntity client = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + request.getClientId()));
-
-        if (currentUser.getRole() != Role.ADMIN && !client.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("You don't own this client with id: " + request.getClientId());
-        }
+    private record ProjectKey(Long clientId, String title) {
+    }
 
-        if (projectRepository.findByTitleAndClient(request.getTitle(), client).isPresent()) {
-            throw new ResourceAlreadyExistsException("Project with title '" + request.getTitle() + "' already exists for this client");
-        }
+    @Transactional
+    public ApiResponse<ProjectResponseDto> addProject(ProjectRequest request, AuthenticatedUser currentUser) {
+        ClientEntity client = findAccessibleClient(request.getClientId(), currentUser,
+                "You don't own this client with id: " + request.getClientId());
 
         ProjectEntity project = new ProjectEntity();
         project.setTitle(request.getTitle());
@@ -277,55 +313,195 @@ public class ProjectService {
         project.setEndDate(request.getEndDate());
         project.setStatus(request.getStatus());
         project.setClient(client);
-        project.setUser(currentUser);
+        project.setUser(userRepository.getReferenceById(currentUser.getId()));
 
-        ProjectEntity savedProject = projectRepository.save(project);
-        ProjectResponseDto dto = modelMapper.map(savedProject, ProjectResponseDto.class);
+        // A duplicate title for the client is rejected by uk_projects_client_title
+        ProjectEntity savedProject = saveProject(project);
+        projectCounterService.adjust(client.getId(), currentUser.getId(), savedProject.getStatus(), 1);
+        ownerVersionService.bump(currentUser.getId(), clientOwnerId(client));
+        eventPublisher.publishEvent(ProjectChangedEvent.saved(ProjectDocument.from(savedProject)));
+        ProjectResponseDto dto = projectMapper.toDto(savedProject);
         return ApiResponse.success("Project added successfully", dto);
     }
 
-    public ApiResponse<List<ProjectResponseDto>> getProjectsByClient(Long clientId, UserEntity currentUser) {
-        ClientEntity client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + clientId));
+    // Creates many projects in one transaction; rows that fail validation, ownership or a duplicate check are reported
+    @Transactional
+    public ApiResponse<BulkResult<ProjectResponseDto>> addProjects(List<ProjectRequest> requests, AuthenticatedUser currentUser) {
+        bulkValidator.checkSize(requests);
 
-        if (currentUser.getRole() != Role.ADMIN && !client.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("Access denied - You don't have permission to access this client's projects");
+        Set<Long> clientIds = requests.stream().filter(Objects::nonNull)
+                .map(ProjectRequest::getClientId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> titles = requests.stream().filter(Objects::nonNull)
+                .map(ProjectRequest::getTitle).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        // All referenced clients and existing titles in two queries instead of two lookups per row
+        Map<Long, ClientEntity> clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(ClientEntity::getId, Function.identity()));
+        Set<ProjectKey> takenKeys = new HashSet<>();
+        if (!clientIds.isEmpty() && !titles.isEmpty()) {
+            for (Object[] row : projectRepository.findExistingTitles(clientIds, titles)) {
+                takenKeys.add(new ProjectKey((Long) row[0], (String) row[1]));
+            }
         }
 
-        List<ProjectEntity> projects = projectRepository.findByClient_Id(clientId);
-        List<ProjectResponseDto> dtoList = projects.stream()
-                .map(p -> modelMapper.map(p, ProjectResponseDto.class))
-                .collect(Collectors.toList());
+        UserEntity owner = userRepository.getReferenceById(currentUser.getId());
+        List<BulkRowResult<ProjectResponseDto>> rows = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<Integer> indexes = new ArrayList<>();
+        List<ProjectEntity> projects = new ArrayList<>();
 
-        return ApiResponse.success("Projects retrieved successfully", dtoList);
+        for (int i = 0; i < requests.size(); i++) {
+            ProjectRequest request = requests.get(i);
+            String error = bulkValidator.validate(request);
+            ClientEntity client = (error == null) ? clients.get(request.getClientId()) : null;
+            if (error == null && client == null) {
+                error = "Client not found with id: " + request.getClientId();
+            } else if (error == null && currentUser.getRole() != Role.ADMIN
+                    && !currentUser.getId().equals(clientOwnerId(client))) {
+                error = "You don't own this client with id: " + request.getClientId();
+            } else if (error == null && !takenKeys.add(new ProjectKey(request.getClientId(), request.getTitle()))) {
+                error = "Project with title '" + request.getTitle() + "' already exists for this client";
+            }
+            if (error != null) {
+                rows.set(i, BulkRowResult.failed(i, error));
+                continue;
+            }
+
+            ProjectEntity project = new ProjectEntity();
+            project.setTitle(request.getTitle());
+            project.setDescription(request.getDescription());
+            project.setStartDate(request.getStartDate());
+            project.setEndDate(request.getEndDate());
+            project.setStatus(request.getStatus());
+            project.setClient(client);
+            project.setUser(owner);
+            projects.add(project);
+            indexes.add(i);
+        }
+
+        // Ids come from the pooled sequence, the INSERTs are sent as JDBC batches on flush
+        List<ProjectEntity> saved = projectRepository.saveAll(projects);
+        // One counter update per (client, status) group rather than per row
+        Map<Long, Map<ProjectStatus, Long>> added = new HashMap<>();
+        for (ProjectEntity project : saved) {
+            if (project.getStatus() != null) {
+                added.computeIfAbsent(project.getClient().getId(), c -> new EnumMap<>(ProjectStatus.class))
+                        .merge(project.getStatus(), 1L, Long::sum);
+            }
+        }
+        List<ProjectCounterService.Delta> deltas = new ArrayList<>();
+        added.forEach((clientId, counts) -> counts.forEach((status, count) ->
+                deltas.add(new ProjectCounterService.Delta(clientId, status, count))));
+        projectCounterService.adjustAll(currentUser.getId(), deltas);
+        if (!saved.isEmpty()) {
+            Set<Long> owners = new HashSet<>();
+            owners.add(currentUser.getId());
+            saved.forEach(project -> owners.add(clientOwnerId(project.getClient())));
+            ownerVersionService.bump(owners);
+        }
+        for (int k = 0; k < saved.size(); k++) {
+            int index = indexes.get(k);
+            rows.set(index, BulkRowResult.created(index, projectMapper.toDto(saved.get(k))));
+            eventPublisher.publishEvent(ProjectChangedEvent.saved(ProjectDocument.from(saved.get(k))));
+        }
+
+        BulkResult<ProjectResponseDto> result = BulkResult.of(rows);
+        return ApiResponse.success("Bulk import finished: " + result.getCreated() + " created, "
+                + result.getFailed() + " failed", result);
     }
 
-    public ApiResponse<List<ProjectResponseDto>> getAllProjects(UserEntity currentUser) {
-        List<ProjectEntity> projects = (currentUser.getRole() == Role.ADMIN)
-                ? projectRepository.findAll()
-                : projectRepository.findByUser(currentUser);
+    @Transactional(readOnly = true)
+    public ApiResponse<List<ProjectResponseDto>> getProjectsByClient(Long clientId, AuthenticatedUser currentUser) {
+        // Only an existence check, the client row itself is not needed
+        boolean accessible = (currentUser.getRole() == Role.ADMIN)
+                ? clientRepository.existsById(clientId)
+                : clientRepository.existsByIdAndUser_Id(clientId, currentUser.getId());
+        if (!accessible) {
+            throw clientDeniedOrNotFound(clientId,
+                    "Access denied - You don't have permission to access this client's projects");
+        }
 
-        List<ProjectResponseDto> dtoList = projects.stream()
-                .map(p -> modelMapper.map(p, ProjectResponseDto.class))
-                .collect(Collectors.toList());
+        List<ProjectResponseDto> dtoList = projectRepository.findDtosByClientId(clientId);
 
         return ApiResponse.success("Projects retrieved successfully", dtoList);
     }
 
-    public ApiResponse<ProjectResponseDto> updateProject(Long id, ProjectRequest request, UserEntity currentUser) {
-        ProjectEntity project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
+    // Filters are applied in the query, only one keyset page is loaded
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPage<ProjectResponseDto>> getAllProjects(AuthenticatedUser currentUser, ProjectFilter filter,
+                                                                      String cursor, Integer limit) {
+        long afterId = pagination.decodeCursor(cursor);
+        int pageSize = pagination.resolveLimit(limit);
+        Long ownerId = (currentUser.getRole() == Role.ADMIN) ? null : currentUser.getId();
 
-        if (currentUser.getRole() != Role.ADMIN && !project.getClient().getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("Access denied - You don't own the client for this project");
+        List<ProjectResponseDto> projects = projectRepository.findPage(ownerId, filter, afterId, pageSize + 1);
+        CursorPage<ProjectResponseDto> page = pagination.page(projects, pageSize, ProjectResponseDto::getId);
+
+        return ApiResponse.success("Projects retrieved successfully", page);
+    }
+
+    // Projects running at some point between from and to (inclusive), paged by id like the project list
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPage<ProjectResponseDto>> getActiveProjects(AuthenticatedUser currentUser, LocalDate from,
+                                                                         LocalDate to, String cursor, Integer limit) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
         }
+        long afterId = pagination.decodeCursor(cursor);
+        int pageSize = pagination.resolveLimit(limit);
+        Long ownerId = (currentUser.getRole() == Role.ADMIN) ? null : currentUser.getId();
+
+        List<ProjectResponseDto> projects;
+        ProjectIntervalIndex index = intervalIndex.getIfAvailable();
+        if (index != null && index.isLoaded()) {
+            // The index picks the ids, the rows themselves come from a primary key lookup
+            long[] ids = index.findActive(ownerId, from, to, afterId, pageSize + 1);
+            projects = (ids.length == 0)
+                    ? List.of()
+                    : projectRepository.findDtosByIdIn(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+        } else {
+            projects = projectRepository.findActivePage(ownerId, from, to, afterId, pageSize + 1);
+        }
+        CursorPage<ProjectResponseDto> page = pagination.page(projects, pageSize, ProjectResponseDto::getId);
+
+        return ApiResponse.success("Active projects retrieved successfully", page);
+    }
 
-        ClientEntity newClient = clientRepository.findById(request.getClientId())
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + request.getClientId()));
+    // Counts are read from project_counters (O(clients)); only the time-dependent overdue count queries projects
+    @Transactional(readOnly = true)
+    public ApiResponse<ProjectStatsDto> getProjectStats(AuthenticatedUser currentUser) {
+        LocalDate today = LocalDate.now();
+        boolean admin = currentUser.getRole() == Role.ADMIN;
 
-        if (currentUser.getRole() != Role.ADMIN && !newClient.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("You don't own the new client with id: " + request.getClientId());
+        List<ProjectCountRow> rows = admin
+                ? projectCounterRepository.findAllRows()
+                : projectCounterRepository.findRowsByUserId(currentUser.getId());
+        List<Object[]> overdueRows = admin
+                ? projectRepository.countOverdueByClient(today)
+                : projectRepository.countOverdueByClientForOwner(currentUser.getId(), today);
+        List<OwnerProjectCount> byOwner = admin
+                ? projectCounterRepository.sumByOwner()
+                : projectCounterRepository.sumByOwnerFor(currentUser.getId());
+
+        Map<Long, Long> overdueByClient = new HashMap<>();
+        for (Object[] row : overdueRows) {
+            overdueByClient.put((Long) row[0], (Long) row[1]);
         }
+        return ApiResponse.success("Project statistics retrieved successfully", toStats(rows, overdueByClient, byOwner));
+    }
+
+    @Transactional
+    public ApiResponse<ProjectResponseDto> updateProject(Long id, ProjectRequest request, AuthenticatedUser currentUser) {
+        ProjectEntity project = findAccessibleProject(id, currentUser,
+                "Access denied - You don't own the client for this project");
+
+        // The current client was already checked with the project, only a different one needs a lookup
+        ClientEntity newClient = request.getClientId().equals(clientId(project.getClient()))
+                ? project.getClient()
+                : findAccessibleClient(request.getClientId(), currentUser,
+                        "You don't own the new client with id: " + request.getClientId());
+
+        ClientEntity oldClient = project.getClient();
+        ProjectStatus oldStatus = project.getStatus();
 
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
@@ -334,21 +510,110 @@ public class ProjectService {
         project.setStatus(request.getStatus());
         project.setClient(newClient);
 
-        ProjectEntity updated = projectRepository.save(project);
-        ProjectResponseDto dto = modelMapper.map(updated, ProjectResponseDto.class);
+        ProjectEntity updated = saveProject(project);
+        // Counters only move when the project changes client or status
+        if (oldClient != newClient || oldStatus != updated.getStatus()) {
+            projectCounterService.adjustAll(ownerId(updated), List.of(
+                    new ProjectCounterService.Delta(clientId(oldClient), oldStatus, -1),
+                    new ProjectCounterService.Delta(clientId(newClient), updated.getStatus(), 1)));
+        }
+        ownerVersionService.bump(ownerId(updated), clientOwnerId(oldClient), clientOwnerId(newClient));
+        eventPublisher.publishEvent(ProjectChangedEvent.saved(ProjectDocument.from(updated)));
+        ProjectResponseDto dto = projectMapper.toDto(updated);
         return ApiResponse.success("Project updated successfully", dto);
     }
 
-    public ApiResponse<String> deleteProject(Long id, UserEntity currentUser) {
-        ProjectEntity project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-
-        if (currentUser.getRole() != Role.ADMIN && !project.getClient().getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("Access denied - You don't own this project");
-        }
+    @Transactional
+    public ApiResponse<String> deleteProject(Long id, AuthenticatedUser currentUser) {
+        // Loaded through the scoped lookup because the counters need its client and status
+        ProjectEntity project = findAccessibleProject(id, currentUser, "Access denied - You don't own this project");
+        ClientEntity client = project.getClient();
 
         projectRepository.delete(project);
+        projectCounterService.adjust(clientId(client), ownerId(project), project.getStatus(), -1);
+        ownerVersionService.bump(ownerId(project), clientOwnerId(client));
+        eventPublisher.publishEvent(ProjectChangedEvent.deleted(id));
         return ApiResponse.success("Project deleted successfully", null);
     }
+
+    // Folds the (client, status) rows into overall, per-status and per-client totals
+    private ProjectStatsDto toStats(List<ProjectCountRow> rows, Map<Long, Long> overdueByClient,
+                                    List<OwnerProjectCount> byOwner) {
+        Map<ProjectStatus, Long> byStatus = emptyStatusCounts();
+        Map<Long, ClientProjectStats> byClient = new LinkedHashMap<>();
+        long total = 0;
+
+        for (ProjectCountRow row : rows) {
+            ClientProjectStats client = byClient.computeIfAbsent(row.getClientId(),
+                    id -> new ClientProjectStats(id, row.getClientName(), 0,
+                            overdueByClient.getOrDefault(id, 0L), emptyStatusCounts()));
+            client.setTotal(client.getTotal() + row.getCount());
+            client.getByStatus().merge(row.getStatus(), row.getCount(), Long::sum);
+            byStatus.merge(row.getStatus(), row.getCount(), Long::sum);
+            total += row.getCount();
+        }
+        long overdue = overdueByClient.values().stream().mapToLong(Long::longValue).sum();
+
+        return new ProjectStatsDto(total, overdue, byStatus, new ArrayList<>(byClient.values()), byOwner);
+    }
+
+    private static Map<ProjectStatus, Long> emptyStatusCounts() {
+        Map<ProjectStatus, Long> counts = new EnumMap<>(ProjectStatus.class);
+        for (ProjectStatus status : ProjectStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    // One lookup by id and owner; the existence check only runs when nothing matched
+    private ClientEntity findAccessibleClient(Long clientId, AuthenticatedUser currentUser, String deniedMessage) {
+        Optional<ClientEntity> client = (currentUser.getRole() == Role.ADMIN)
+                ? clientRepository.findById(clientId)
+                : clientRepository.findByIdAndUser_Id(clientId, currentUser.getId());
+        return client.orElseThrow(() -> clientDeniedOrNotFound(clientId, deniedMessage));
+    }
+
+    private ProjectEntity findAccessibleProject(Long id, AuthenticatedUser currentUser, String deniedMessage) {
+        Optional<ProjectEntity> project = (currentUser.getRole() == Role.ADMIN)
+                ? projectRepository.findWithClientById(id)
+                : projectRepository.findWithClientByIdAndClient_User_Id(id, currentUser.getId());
+        return project.orElseThrow(() -> projectDeniedOrNotFound(id, deniedMessage));
+    }
+
+    // Admins also reach projects without a client or owner; those have no counter and no owner to bump
+    private static Long clientId(ClientEntity client) {
+        return (client == null) ? null : client.getId();
+    }
+
+    private static Long clientOwnerId(ClientEntity client) {
+        return (client == null || client.getUser() == null) ? null : client.getUser().getId();
+    }
+
+    private static Long ownerId(ProjectEntity project) {
+        return (project.getUser() == null) ? null : project.getUser().getId();
+    }
+
+    // Keep the 403 (someone else's row) vs 404 (no such row) distinction of the load-then-check version
+    private RuntimeException clientDeniedOrNotFound(Long clientId, String deniedMessage) {
+        return clientRepository.existsById(clientId)
+                ? new AccessDeniedException(deniedMessage)
+                : new ResourceNotFoundException("Client not found with id: " + clientId);
+    }
+
+    private RuntimeException projectDeniedOrNotFound(Long id, String deniedMessage) {
+        return projectRepository.existsById(id)
+                ? new AccessDeniedException(deniedMessage)
+                : new ResourceNotFoundException("Project not found with id: " + id);
+    }
+
+    // Flushes so a unique-constraint violation surfaces here and maps to the usual duplicate message
+    private ProjectEntity saveProject(ProjectEntity project) {
+        try {
+            return projectRepository.saveAndFlush(project);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintTranslator.translate(e, Map.of(ProjectEntity.UK_CLIENT_TITLE,
+                    "Project with title '" + project.getTitle() + "' already exists for this client"));
+        }
+    }
 }
 
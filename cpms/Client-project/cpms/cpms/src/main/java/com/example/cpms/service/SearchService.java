@@ -0,0 +1,57 @@
+package com.example.cpms.service;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.ClientSuggestion;
+import com.example.cpms.dto.SearchHit;
+import com.example.cpms.entity.Role;
+import com.example.cpms.search.ClientAutocomplete;
+import com.example.cpms.search.SearchIndex;
+import com.example.cpms.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+
+    private final SearchIndex searchIndex;
+    private final ClientAutocomplete clientAutocomplete;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int autocompleteDefaultLimit;
+    private final int autocompleteMaxLimit;
+
+    public SearchService(SearchIndex searchIndex,
+                         ClientAutocomplete clientAutocomplete,
+                         @Value("${cpms.search.default-limit:20}") int defaultLimit,
+                         @Value("${cpms.search.max-limit:100}") int maxLimit,
+                         @Value("${cpms.autocomplete.default-limit:10}") int autocompleteDefaultLimit,
+                         @Value("${cpms.autocomplete.max-limit:50}") int autocompleteMaxLimit) {
+        this.searchIndex = searchIndex;
+        this.clientAutocomplete = clientAutocomplete;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.autocompleteDefaultLimit = autocompleteDefaultLimit;
+        this.autocompleteMaxLimit = autocompleteMaxLimit;
+    }
+
+    // Served from the in-memory index; non-admins only see their own clients and those clients' projects
+    public ApiResponse<List<SearchHit>> search(String query, Integer limit, AuthenticatedUser currentUser) {
+        int resolvedLimit = (limit == null || limit <= 0) ? defaultLimit : Math.min(limit, maxLimit);
+        Long ownerId = (currentUser.getRole() == Role.ADMIN) ? null : currentUser.getId();
+
+        List<SearchHit> hits = searchIndex.search(query, ownerId, resolvedLimit);
+        return ApiResponse.success("Search completed successfully", hits);
+    }
+
+    // Client picker type-ahead, matched against the start of the name or company name
+    public ApiResponse<List<ClientSuggestion>> autocompleteClients(String prefix, Integer limit, AuthenticatedUser currentUser) {
+        int resolvedLimit = (limit == null || limit <= 0)
+                ? autocompleteDefaultLimit : Math.min(limit, autocompleteMaxLimit);
+        Long ownerId = (currentUser.getRole() == Role.ADMIN) ? null : currentUser.getId();
+
+        List<ClientSuggestion> suggestions = clientAutocomplete.suggest(prefix, ownerId, resolvedLimit);
+        return ApiResponse.success("Suggestions retrieved successfully", suggestions);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.cpms.service;
+
+import com.example.cpms.dto.ApiResponse;
+import com.example.cpms.dto.JwtResponse;
+import com.example.cpms.dto.RefreshTokenRequest;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.exception.JwtTokenException;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.JwtUtil;
+import com.example.cpms.security.ParsedToken;
+import com.example.cpms.security.TokenRevocationList;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Access/refresh token pairs. Access tokens are short-lived and checked without the database;
+ * refresh tokens are single use: each refresh claims the presented token, so a replayed or
+ * concurrently reused one is rejected, and issues a new pair, reading the user row so role
+ * changes are picked up.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenService {
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final UserRepository userRepository;
+
+    public JwtResponse issue(UserEntity user) {
+        String accessToken = jwtUtil.generateToken(user.getEmail(), user.getName(), user.getId(), user.getRole());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail(), user.getId());
+        return new JwtResponse(accessToken, refreshToken, jwtUtil.getAccessTokenTtl().toSeconds());
+    }
+
+    public ApiResponse<JwtResponse> refresh(RefreshTokenRequest request) {
+        ParsedToken token;
+        try {
+            token = jwtUtil.parse(request.getRefreshToken());
+        } catch (ExpiredJwtException e) {
+            throw new JwtTokenException("Refresh token has expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JwtTokenException("Invalid refresh token");
+        }
+        if (!token.isRefreshToken()) {
+            throw new JwtTokenException("Invalid refresh token");
+        }
+        if (!revocationList.claim(token)) {
+            throw new JwtTokenException("Refresh token has been revoked");
+        }
+
+        Long userId = token.getClaim(JwtUtil.USER_ID_CLAIM, Long.class);
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new JwtTokenException("Invalid refresh token"));
+        return ApiResponse.success("Token refreshed", issue(user));
+    }
+
+    // Both tokens are optional, whatever is valid gets revoked
+    public ApiResponse<String> logout(String authorizationHeader, RefreshTokenRequest request) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            revokeIfValid(authorizationHeader.substring(7));
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            revokeIfValid(request.getRefreshToken());
+        }
+        return ApiResponse.success("Logged out successfully", null);
+    }
+
+    // Password or role change: every token issued so far stops working
+    public void revokeAll(Long userId) {
+        revocationList.revokeAll(userId);
+    }
+
+    // Expired or forged tokens are already unusable
+    private void revokeIfValid(String rawToken) {
+        try {
+            revocationList.revoke(jwtUtil.parse(rawToken));
+        } catch (JwtException | IllegalArgumentException e) {
+            // nothing to revoke
+        }
+    }
+}
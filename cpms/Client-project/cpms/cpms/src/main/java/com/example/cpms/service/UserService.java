@@ -64,7 +64,7 @@
 //            String emailAddress = userEntity.getEmail();
 //            String userName = userEntity.getName();
 //
-//            String jwt = jwtUtil.generateToken(emailAddress, userName);
+//            String jwt = jwtUtil.generateToken(emailAddress, userName, userEntity.getId(), userEntity.getRole());
 //
 //            LoginResponse response = new LoginResponse();
 //            response.setUserName(userName);
@@ -93,47 +93,56 @@ package com.example.cpms.service;
 import com.example.cpms.dto.*;
 import com.example.cpms.entity.Role;
 import com.example.cpms.entity.UserEntity;
-import com.example.cpms.exception.ResourceAlreadyExistsException;
+import com.example.cpms.exception.AccessDeniedException;
 import com.example.cpms.exception.ResourceNotFoundException;
 import com.example.cpms.exception.InvalidCredentialsException;
 import com.example.cpms.exception.ResourceException;
+import com.example.cpms.exception.ServiceOverloadedException;
+import com.example.cpms.exception.UniqueConstraintTranslator;
+import com.example.cpms.mapper.UserMapper;
 import com.example.cpms.repository.UserRepository;
-import com.example.cpms.security.JwtUtil;
-import org.modelmapper.ModelMapper;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.security.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
 
     // Throw exception for registration
     public ApiResponse<UserResponseDto> register(RegisterRequest request) {
-        // Check if user already exists by email
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResourceAlreadyExistsException("User with email " + request.getEmail() + " already exists");
-        }
-
         UserEntity user = new UserEntity();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(Role.USER);   // Default to User
 
-        UserEntity savedUser = userRepository.save(user);
-        UserResponseDto dto = modelMapper.map(user, UserResponseDto.class);
+        // IDENTITY ids make save() insert immediately, so a duplicate email fails right here
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintTranslator.translate(e, Map.of(UserEntity.UK_EMAIL,
+                    "User with email " + request.getEmail() + " already exists"));
+        }
+        UserResponseDto dto = userMapper.toDto(user);
         return ApiResponse.<UserResponseDto>success("User registered successfully", dto);
 
 
@@ -152,24 +161,27 @@ public class UserService {
 
             UserEntity userEntity = optionalUser.get();
 
-            // 2. Check password
-            boolean isValidUser = checkUserCredentials(userEntity, request);
+            // 2. Check password; the timer includes any wait for a hashing thread,
+            // cpms.password.hash has the BCrypt time alone
+            boolean isValidUser = meterRegistry.timer("cpms.auth.login.password")
+                    .record(() -> checkUserCredentials(userEntity, request));
             if (!isValidUser) {
                 throw new InvalidCredentialsException("Invalid email or password"); // Return error ApiResponse
             }
 
-            // 3. Generate JWT token
-            String emailAddress = userEntity.getEmail();
-            String userName = userEntity.getName();
-            String jwt = jwtUtil.generateToken(emailAddress, userName);
+            // 3. Bring the stored hash to the current algorithm and cost
+            rehashIfOutdated(userEntity, request.getPassword());
 
-            // 4. Create response
+            // 4. Create response with a short-lived access token and its refresh token
             LoginResponse response = new LoginResponse();
-            response.setUserName(userName);
-            response.setEmailAddress(emailAddress);
-            response.setJwtResponse(new JwtResponse(jwt));
+            response.setUserName(userEntity.getName());
+            response.setEmailAddress(userEntity.getEmail());
+            response.setJwtResponse(tokenService.issue(userEntity));
 
             return ApiResponse.success("Login successful", response);
+        } catch (ServiceOverloadedException e) {
+            // Keep the 503 so clients back off instead of seeing a server error
+            throw e;
         } catch (Exception e) {
             throw new ResourceException("Login failed: " + e.getMessage()); //
         }
@@ -179,12 +191,31 @@ public class UserService {
         return passwordEncoder.matches(request.getPassword(), userEntity.getPassword());
     }
 
+    // Best effort: if the hashing pool is busy or the update fails the upgrade waits for a later login
+    private void rehashIfOutdated(UserEntity userEntity, String rawPassword) {
+        String oldHash = userEntity.getPassword();
+        if (!passwordEncoder.upgradeEncoding(oldHash)) {
+            return;
+        }
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            // Only replaces the hash we checked, a concurrent login or password change wins
+            if (userRepository.replacePasswordHash(userEntity.getId(), oldHash, newHash) == 1) {
+                userEntity.setPassword(newHash);
+            }
+        } catch (ServiceOverloadedException e) {
+            log.debug("Password re-hash for user {} skipped, hashing pool is busy", userEntity.getId());
+        } catch (DataAccessException e) {
+            log.warn("Password re-hash for user {} could not be stored: {}", userEntity.getId(), e.getMessage());
+        }
+    }
+
     // Throw exception for getUserByEmail (business logic)
     public ApiResponse<UserResponseDto> getUserByEmail(String email) {
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
-        UserResponseDto dto = modelMapper.map(user, UserResponseDto.class);
+        UserResponseDto dto = userMapper.toDto(user);
 
         return ApiResponse.<UserResponseDto>success("User retrieved successfully", dto);
     }
@@ -194,8 +225,41 @@ public class UserService {
         UserEntity userEntity = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
-        UserResponseDto dto = modelMapper.map(userEntity, UserResponseDto.class);
+        UserResponseDto dto = userMapper.toDto(userEntity);
 
         return ApiResponse.<UserResponseDto>success("User retrieved successfully", dto);
     }
+
+    // The cached principal and issued tokens must not outlive a password or role change
+    @Transactional
+    public ApiResponse<String> changePassword(Long userId, ChangePasswordRequest request) {
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException("Current password is incorrect");
+        }
+
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
+        tokenService.revokeAll(userId);
+        return ApiResponse.success("Password changed successfully", null);
+    }
+
+    @Transactional
+    public ApiResponse<UserResponseDto> changeRole(Long userId, Role role, AuthenticatedUser currentUser) {
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("Access denied - Only admins can change user roles");
+        }
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        user.setRole(role);
+        UserEntity savedUser = userRepository.save(user);
+        userPrincipalCache.evict(savedUser.getEmail());
+        tokenService.revokeAll(userId);
+
+        UserResponseDto dto = userMapper.toDto(savedUser);
+        return ApiResponse.<UserResponseDto>success("User role updated successfully", dto);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+-- One-off migration for databases created while clients and projects still used IDENTITY ids.
+-- Run it once with the application stopped, before the first start of the version that
+-- switched them to pooled sequences:
+--   psql -d cpmsdb -f src/main/resources/db/pooled-sequences.sql
+--
+-- Hibernate's pooled optimizer (allocationSize 50) takes nextval as the top of a block of 50
+-- ids, so each sequence is set to the current max(id) and the next block starts at max(id) + 1.
+-- The increment must stay equal to the allocationSize on the entities. project_counters_seq
+-- needs nothing: that table and its sequence are created together by ddl-auto.
+
+begin;
+
+create sequence if not exists clients_seq start with 1 increment by 50;
+create sequence if not exists projects_seq start with 1 increment by 50;
+
+-- On an empty table the sequence is left at its start, as on a new database
+select setval('clients_seq', max(id)) from clients having max(id) is not null;
+select setval('projects_seq', max(id)) from projects having max(id) is not null;
+
+commit;
@@ -0,0 +1,144 @@
+package com.example.cpms;
+
+import com.example.cpms.dto.ProjectResponseDto;
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.OwnerVersionRepository;
+import com.example.cpms.repository.ProjectCounterRepository;
+import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.search.ProjectIntervalIndex;
+import com.example.cpms.security.AuthenticatedUser;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With the interval index on, /api/projects/active must return what the database query returns.
+ * The interesting case is a project whose owner is not its client's owner (an admin adding a
+ * project to a user's client): both paths attribute it to the project's owner.
+ */
+@SpringBootTest(properties = "cpms.active-projects.interval-index=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActiveProjectsIndexTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2024-01-01");
+    private static final LocalDate TO = LocalDate.parse("2024-12-31");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCounterRepository projectCounterRepository;
+
+    @Autowired
+    private OwnerVersionRepository ownerVersionRepository;
+
+    @Autowired
+    private ProjectIntervalIndex intervalIndex;
+
+    private UserEntity owner;
+    private UserEntity admin;
+    private ClientEntity client;
+
+    @BeforeEach
+    void setUp() {
+        projectCounterRepository.deleteAll();
+        ownerVersionRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = saveUser("Owner", "owner@example.com", Role.USER);
+        admin = saveUser("Admin", "admin@example.com", Role.ADMIN);
+
+        client = new ClientEntity();
+        client.setName("Acme");
+        client.setEmail("acme@example.com");
+        client.setPhone("555-0100");
+        client.setCompanyName("Acme Inc");
+        client.setUser(owner);
+        client = clientRepository.save(client);
+    }
+
+    @Test
+    void activeProjects_WithProjectOwnerOtherThanClientOwner_ShouldMatchTheDatabasePath() throws Exception {
+        long own = addProject(owner, "Own");
+        long byAdmin = addProject(admin, "By admin");
+        assertThat(intervalIndex.isLoaded()).isTrue();
+
+        assertThat(activeIds(owner)).containsExactly(own)
+                .isEqualTo(databaseIds(owner.getId()));
+        assertThat(activeIds(admin)).containsExactly(own, byAdmin)
+                .isEqualTo(databaseIds(null));
+    }
+
+    private long addProject(UserEntity user, String title) throws Exception {
+        String body = "{\"title\":\"" + title + "\",\"status\":\"IN_PROGRESS\",\"startDate\":\"2024-03-01\","
+                + "\"endDate\":\"2024-06-30\",\"clientId\":" + client.getId() + "}";
+        String response = mockMvc.perform(as(user, post("/api/projects"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.data.id")).longValue();
+    }
+
+    private List<Long> activeIds(UserEntity user) throws Exception {
+        String response = mockMvc.perform(as(user, get("/api/projects/active?from=" + FROM + "&to=" + TO)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(response, "$.data.items[*].id");
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    // The query the endpoint uses when the index is off
+    private List<Long> databaseIds(Long ownerId) {
+        return projectRepository.findActivePage(ownerId, FROM, TO, 0L, 100).stream()
+                .map(ProjectResponseDto::getId).collect(Collectors.toList());
+    }
+
+    private UserEntity saveUser(String name, String email, Role role) {
+        UserEntity user = new UserEntity();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private MockHttpServletRequestBuilder as(UserEntity entity, MockHttpServletRequestBuilder request) {
+        AuthenticatedUser principal = AuthenticatedUser.from(entity);
+        return request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.cpms;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.exception.JwtTokenException;
+import com.example.cpms.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthTokenTest {
+
+    private static final String EMAIL = "tokens@example.com";
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        UserEntity user = new UserEntity();
+        user.setName("Tokens");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(Role.USER);
+        userRepository.save(user);
+    }
+
+    @Test
+    void refresh_ShouldIssueANewPairAndRejectTheSameTokenTwice() throws Exception {
+        String login = login();
+        String refreshToken = JsonPath.read(login, "$.data.jwtResponse.refreshToken");
+
+        String refreshed = refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(refreshed, "$.data.token");
+        String newRefreshToken = JsonPath.read(refreshed, "$.data.refreshToken");
+        assertThat(newRefreshToken).isNotEqualTo(refreshToken);
+
+        mockMvc.perform(get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token has been revoked"));
+        refresh(newRefreshToken)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_ShouldRevokeBothTokens() throws Exception {
+        String login = login();
+        String accessToken = JsonPath.read(login, "$.data.jwtResponse.token");
+        String refreshToken = JsonPath.read(login, "$.data.jwtResponse.refreshToken");
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk());
+
+        assertThatThrownBy(() -> mockMvc.perform(
+                get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)))
+                .isInstanceOf(JwtTokenException.class)
+                .hasMessage("JWT token has been revoked");
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token has been revoked"));
+    }
+
+    @Test
+    void refreshToken_OnAnApiRoute_ShouldBeRejected() throws Exception {
+        String refreshToken = JsonPath.read(login(), "$.data.jwtResponse.refreshToken");
+
+        assertThatThrownBy(() -> mockMvc.perform(
+                get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken)))
+                .isInstanceOf(JwtTokenException.class)
+                .hasMessage("Invalid JWT token");
+    }
+
+    @Test
+    void changePassword_ShouldRevokeEveryTokenIssuedBefore() throws Exception {
+        String login = login();
+        String accessToken = JsonPath.read(login, "$.data.jwtResponse.token");
+        String refreshToken = JsonPath.read(login, "$.data.jwtResponse.refreshToken");
+
+        mockMvc.perform(put("/api/users/me/password")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"changed456\"}"))
+                .andExpect(status().isOk());
+
+        assertThatThrownBy(() -> mockMvc.perform(
+                get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)))
+                .isInstanceOf(JwtTokenException.class)
+                .hasMessage("JWT token has been revoked");
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token has been revoked"));
+    }
+
+    @Test
+    void changePassword_ShouldRevokeTokensIssuedBeforeTheUserIdClaim() throws Exception {
+        String accessToken = JsonPath.read(login(), "$.data.jwtResponse.token");
+        String legacyToken = legacyToken();
+        mockMvc.perform(get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + legacyToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/users/me/password")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"changed456\"}"))
+                .andExpect(status().isOk());
+
+        assertThatThrownBy(() -> mockMvc.perform(
+                get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + legacyToken)))
+                .isInstanceOf(JwtTokenException.class)
+                .hasMessage("JWT token has been revoked");
+    }
+
+    // What login issued before tokens carried a userId, role, type or jti
+    private String legacyToken() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claim("emailAddress", EMAIL)
+                .claim("user", "Tokens")
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + Duration.ofHours(10).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private String login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.cpms;
+
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.ProjectCounterEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.entity.ProjectStatus;
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.OwnerVersionRepository;
+import com.example.cpms.repository.ProjectCounterRepository;
+import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.ProjectCounterService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * project_counters attributes a project to its own owner (projects.user_id), like the GROUP BY
+ * stats it replaced, and the writes keep it equal to what a rebuild recounts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectCounterServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCounterRepository projectCounterRepository;
+
+    @Autowired
+    private OwnerVersionRepository ownerVersionRepository;
+
+    @Autowired
+    private ProjectCounterService projectCounterService;
+
+    private UserEntity owner;
+    private UserEntity admin;
+    private ClientEntity client;
+
+    @BeforeEach
+    void setUp() {
+        projectCounterRepository.deleteAll();
+        ownerVersionRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = saveUser("Owner", "owner@example.com", Role.USER);
+        admin = saveUser("Admin", "admin@example.com", Role.ADMIN);
+
+        client = new ClientEntity();
+        client.setName("Acme");
+        client.setEmail("acme@example.com");
+        client.setPhone("555-0100");
+        client.setCompanyName("Acme Inc");
+        client.setUser(owner);
+        client = clientRepository.save(client);
+
+        for (int i = 0; i < 2; i++) {
+            ProjectEntity project = new ProjectEntity();
+            project.setTitle("Owned " + i);
+            project.setStatus(ProjectStatus.IN_PROGRESS);
+            project.setClient(client);
+            project.setUser(owner);
+            projectRepository.save(project);
+        }
+        projectCounterService.rebuild();
+    }
+
+    @Test
+    void stats_ProjectAddedByAdminToAUsersClient_ShouldCountForTheAdmin() throws Exception {
+        addProject(admin, "By admin", "IN_PROGRESS");
+
+        // The client's owner only sees the projects they own, as before the counters
+        mockMvc.perform(as(owner, get("/api/projects/stats")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.byOwner.length()").value(1))
+                .andExpect(jsonPath("$.data.byOwner[0].count").value(2));
+
+        mockMvc.perform(as(admin, get("/api/projects/stats")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.byClient[0].total").value(3))
+                .andExpect(jsonPath("$.data.byOwner[?(@.userId == " + admin.getId() + ")].count").value(1))
+                .andExpect(jsonPath("$.data.byOwner[?(@.userId == " + owner.getId() + ")].count").value(2));
+    }
+
+    @Test
+    void stats_ProjectWithoutStatus_ShouldNotBeCounted() throws Exception {
+        // Counters are keyed by status, so unlike the GROUP BY stats a status-less project is left out
+        addProject(owner, "No status", null);
+
+        mockMvc.perform(as(owner, get("/api/projects/stats")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(2));
+    }
+
+    @Test
+    void rebuild_AfterApiWrites_ShouldHaveNothingToCorrect() throws Exception {
+        Long byAdmin = addProject(admin, "By admin", "IN_PROGRESS");
+        Long moved = addProject(owner, "Moved", "PLANNED");
+        mockMvc.perform(as(owner, put("/api/projects/" + moved))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Moved\",\"status\":\"COMPLETED\",\"clientId\":" + client.getId() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(as(admin, delete("/api/projects/" + byAdmin))).andExpect(status().isOk());
+
+        Map<String, Long> maintained = counters();
+        projectCounterService.rebuild();
+
+        assertThat(counters()).isEqualTo(maintained);
+    }
+
+    @Test
+    void rebuild_ShouldRepairDrift() {
+        Map<String, Long> expected = counters();
+        ProjectCounterEntity counter = projectCounterRepository.findAll().get(0);
+        counter.setProjectCount(99);
+        projectCounterRepository.save(counter);
+
+        projectCounterService.rebuild();
+
+        assertThat(counters()).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteProject_WithoutClient_ByAdmin_ShouldDeleteIt() throws Exception {
+        Long orphan = saveProjectWithoutClient("Orphan");
+
+        mockMvc.perform(as(admin, delete("/api/projects/" + orphan))).andExpect(status().isOk());
+
+        assertThat(projectRepository.existsById(orphan)).isFalse();
+    }
+
+    @Test
+    void updateProject_WithoutClient_ByAdmin_ShouldAttachTheClientAndCountIt() throws Exception {
+        Long orphan = saveProjectWithoutClient("Orphan");
+
+        mockMvc.perform(as(admin, put("/api/projects/" + orphan))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Orphan\",\"status\":\"PLANNED\",\"clientId\":" + client.getId() + "}"))
+                .andExpect(status().isOk());
+
+        Map<String, Long> maintained = counters();
+        assertThat(maintained).containsEntry(client.getId() + "/" + owner.getId() + "/PLANNED", 1L);
+        projectCounterService.rebuild();
+        assertThat(counters()).isEqualTo(maintained);
+    }
+
+    private Long saveProjectWithoutClient(String title) {
+        ProjectEntity project = new ProjectEntity();
+        project.setTitle(title);
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        project.setUser(owner);
+        return projectRepository.save(project).getId();
+    }
+
+    private Long addProject(UserEntity user, String title, String status) throws Exception {
+        String statusJson = status == null ? "null" : "\"" + status + "\"";
+        String response = mockMvc.perform(as(user, post("/api/projects"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"status\":" + statusJson + ",\"clientId\":" + client.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.data.id")).longValue();
+    }
+
+    // client/owner/status -> count, with rows at zero left out since the rebuild deletes them
+    private Map<String, Long> counters() {
+        return projectCounterRepository.findAll().stream()
+                .filter(counter -> counter.getProjectCount() != 0)
+                .collect(Collectors.toMap(
+                        counter -> counter.getClientId() + "/" + counter.getUserId() + "/" + counter.getStatus(),
+                        ProjectCounterEntity::getProjectCount));
+    }
+
+    private UserEntity saveUser(String name, String email, Role role) {
+        UserEntity user = new UserEntity();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private MockHttpServletRequestBuilder as(UserEntity entity, MockHttpServletRequestBuilder request) {
+        AuthenticatedUser principal = AuthenticatedUser.from(entity);
+        return request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+}
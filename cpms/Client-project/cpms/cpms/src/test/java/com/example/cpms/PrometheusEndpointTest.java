@@ -0,0 +1,103 @@
+package com.example.cpms;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs in, calls an endpoint with the token and checks that the scrape on the management port
+ * carries the request, authentication, cache, pool, Hibernate and JVM meters, and that the
+ * application port does not serve it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    private static final String EMAIL = "metrics@example.com";
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void scrape_AfterAnAuthenticatedRequest_ShouldExposeAppPoolHibernateAndJvmMeters() throws Exception {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        UserEntity user = new UserEntity();
+        user.setName("Metrics");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(Role.USER);
+        userRepository.save(user);
+
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(login, "$.data.jwtResponse.token");
+
+        mockMvc.perform(get("/api/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // No token needed, like a Prometheus server on the internal network
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertThat(scrape.getStatusCode().is2xxSuccessful()).isTrue();
+
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_count{")
+                .contains("uri=\"/api/clients\"")
+                .contains("cpms_http_statements_count{")
+                .contains("cpms_auth_jwt_seconds_count{")
+                .contains("phase=\"parse\"")
+                .contains("cpms_auth_login_password_seconds_count{")
+                .contains("cpms_password_hash_seconds_count{")
+                .contains("cache_gets_total{")
+                .contains("cache=\"user-principals\"")
+                .contains("cache=\"response\"")
+                .contains("hikaricp_connections_active{")
+                .contains("hibernate_statements_total{")
+                .contains("hibernate_entities_loads_total{")
+                .contains("jvm_gc_memory_allocated_bytes_total{");
+    }
+
+    @Test
+    void applicationPort_ShouldNotServeActuator() {
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode().is2xxSuccessful()).isFalse();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.cpms;
+
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.entity.ProjectStatus;
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.OwnerVersionRepository;
+import com.example.cpms.repository.ProjectCounterRepository;
+import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The services insert without a pre-check SELECT and rely on the named unique constraints;
+ * one duplicate per constraint checks that it still comes back as a 409 with its own message.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UniqueConstraintConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCounterRepository projectCounterRepository;
+
+    @Autowired
+    private OwnerVersionRepository ownerVersionRepository;
+
+    private UserEntity owner;
+    private UserEntity otherOwner;
+    private ClientEntity client;
+
+    @BeforeEach
+    void setUp() {
+        projectCounterRepository.deleteAll();
+        ownerVersionRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = saveUser("Owner", "owner@example.com");
+        otherOwner = saveUser("Other", "other@example.com");
+
+        client = new ClientEntity();
+        client.setName("Acme");
+        client.setEmail("acme@example.com");
+        client.setPhone("555-0100");
+        client.setCompanyName("Acme Inc");
+        client.setUser(owner);
+        client = clientRepository.save(client);
+
+        ProjectEntity project = new ProjectEntity();
+        project.setTitle("Website");
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        project.setClient(client);
+        project.setUser(owner);
+        projectRepository.save(project);
+    }
+
+    @Test
+    void register_WithTakenEmail_ShouldConflictOnUsersEmail() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Again\",\"email\":\"owner@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Conflict: User with email owner@example.com already exists"));
+    }
+
+    @Test
+    void addClient_WithEmailOfAnotherOwnersClient_ShouldConflictOnClientsEmail() throws Exception {
+        mockMvc.perform(as(otherOwner, post("/api/clients"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Other Acme\",\"email\":\"acme@example.com\",\"phone\":\"555\",\"companyName\":\"Acme\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Conflict: Client with email acme@example.com already exists"));
+    }
+
+    @Test
+    void addClient_WithNameTakenBySameOwner_ShouldConflictOnClientsUserName() throws Exception {
+        mockMvc.perform(as(owner, post("/api/clients"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Acme\",\"email\":\"acme2@example.com\",\"phone\":\"555\",\"companyName\":\"Acme\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Conflict: Client with name 'Acme' already exists for you"));
+    }
+
+    @Test
+    void addProject_WithTitleTakenForTheClient_ShouldConflictOnProjectsClientTitle() throws Exception {
+        mockMvc.perform(as(owner, post("/api/projects"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Website\",\"status\":\"IN_PROGRESS\",\"clientId\":" + client.getId() + "}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Conflict: Project with title 'Website' already exists for this client"));
+    }
+
+    private UserEntity saveUser(String name, String email) {
+        UserEntity user = new UserEntity();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private MockHttpServletRequestBuilder as(UserEntity entity, MockHttpServletRequestBuilder request) {
+        AuthenticatedUser principal = AuthenticatedUser.from(entity);
+        return request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.cpms;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTest {
+
+    private static final String USER_EMAIL = "member@example.com";
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private UserEntity user;
+    private UserEntity admin;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail(USER_EMAIL).ifPresent(userRepository::delete);
+        userRepository.findByEmail(ADMIN_EMAIL).ifPresent(userRepository::delete);
+        user = saveUser("Member", USER_EMAIL, Role.USER);
+        admin = saveUser("Admin", ADMIN_EMAIL, Role.ADMIN);
+    }
+
+    @Test
+    void changePassword_WithCurrentPassword_ShouldStoreTheNewHash() throws Exception {
+        mockMvc.perform(as(user, put("/api/users/me/password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"" + PASSWORD + "\",\"newPassword\":\"changed456\"}"))
+                .andExpect(status().isOk());
+
+        String hash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(passwordEncoder.matches("changed456", hash)).isTrue();
+    }
+
+    @Test
+    void changePassword_WithWrongCurrentPassword_ShouldKeepTheOldHash() throws Exception {
+        mockMvc.perform(as(user, put("/api/users/me/password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\":\"wrong\",\"newPassword\":\"changed456\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bad Request: Current password is incorrect"));
+
+        String hash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(passwordEncoder.matches(PASSWORD, hash)).isTrue();
+    }
+
+    @Test
+    void changeRole_ByAdmin_ShouldUpdateTheRole() throws Exception {
+        mockMvc.perform(as(admin, put("/api/users/" + user.getId() + "/role"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getRole()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    void changeRole_ByUser_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(as(user, put("/api/users/" + user.getId() + "/role"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ADMIN\"}"))
+                .andExpect(status().isForbidden());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getRole()).isEqualTo(Role.USER);
+    }
+
+    private UserEntity saveUser(String name, String email, Role role) {
+        UserEntity entity = new UserEntity();
+        entity.setName(name);
+        entity.setEmail(email);
+        entity.setPassword(passwordEncoder.encode(PASSWORD));
+        entity.setRole(role);
+        return userRepository.save(entity);
+    }
+
+    private MockHttpServletRequestBuilder as(UserEntity entity, MockHttpServletRequestBuilder request) {
+        AuthenticatedUser principal = AuthenticatedUser.from(entity);
+        return request.with(authentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.cpms.service;
 
+import com.example.cpms.dto.LoginRequest;
 import com.example.cpms.dto.RegisterRequest;
+import com.example.cpms.entity.Role;
 import com.example.cpms.entity.UserEntity;
+import com.example.cpms.mapper.UserMapper;
 import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +34,18 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -40,4 +63,59 @@ class UserServiceTest {
 
         verify(userRepository).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_WithOutdatedHash_ShouldStoreTheNewHash() {
+        UserEntity user = outdatedUser();
+        when(passwordEncoder.encode("123456")).thenReturn("newHash");
+        when(userRepository.replacePasswordHash(1L, "oldHash", "newHash")).thenReturn(1);
+
+        userService.login(loginRequest());
+
+        assertThat(user.getPassword()).isEqualTo("newHash");
+    }
+
+    @Test
+    void login_WhenTheHashChangedMeanwhile_ShouldKeepTheStoredOne() {
+        UserEntity user = outdatedUser();
+        when(passwordEncoder.encode("123456")).thenReturn("newHash");
+        when(userRepository.replacePasswordHash(1L, "oldHash", "newHash")).thenReturn(0);
+
+        userService.login(loginRequest());
+
+        assertThat(user.getPassword()).isEqualTo("oldHash");
+    }
+
+    @Test
+    void login_WhenStoringTheNewHashFails_ShouldStillSucceed() {
+        UserEntity user = outdatedUser();
+        when(passwordEncoder.encode("123456")).thenReturn("newHash");
+        when(userRepository.replacePasswordHash(1L, "oldHash", "newHash"))
+                .thenThrow(new QueryTimeoutException("statement timeout"));
+
+        assertThat(userService.login(loginRequest()).isSuccess()).isTrue();
+
+        assertThat(user.getPassword()).isEqualTo("oldHash");
+        verify(tokenService).issue(user);
+    }
+
+    private UserEntity outdatedUser() {
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        user.setName("John");
+        user.setEmail("john@example.com");
+        user.setPassword("oldHash");
+        user.setRole(Role.USER);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("123456", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        return user;
+    }
+
+    private LoginRequest loginRequest() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("john@example.com");
+        request.setPassword("123456");
+        return request;
+    }
+}
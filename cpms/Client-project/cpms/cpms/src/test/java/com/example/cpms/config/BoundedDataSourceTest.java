@@ -0,0 +1,115 @@
+package com.example.cpms.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection raw = mock(Connection.class);
+
+    @Test
+    void close_ShouldReturnThePermit() throws Exception {
+        when(target.getConnection()).thenReturn(raw);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 2, 1000);
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+        connection.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(raw).close();
+    }
+
+    @Test
+    void getConnection_WhenTheTargetThrows_ShouldReturnThePermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool closed"));
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 1000);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool closed");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void close_Twice_ShouldReturnThePermitOnce() throws Exception {
+        when(target.getConnection()).thenReturn(raw);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 2, 1000);
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        // The second connection still holds its permit
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(raw, times(2)).close();
+    }
+
+    @Test
+    void getConnection_WithoutAFreePermit_ShouldTimeOut() throws Exception {
+        when(target.getConnection()).thenReturn(raw);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 50);
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessage("No database connection available after 50ms");
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_AfterWaitingForAPermit_ShouldPassOnlyTheRestOfTheTimeout() throws Exception {
+        AtomicLong passed = new AtomicLong(-1);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 5000, remaining -> {
+            passed.set(remaining);
+            return raw;
+        });
+        Connection held = dataSource.getConnection();
+        assertThat(passed.get()).isBetween(4000L, 5000L);
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.queueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        // The waiter is queued; whatever it waits from here on is taken off its budget
+        Thread.sleep(200);
+        held.close();
+
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(passed.get()).isLessThanOrEqualTo(4800L);
+    }
+
+    @Test
+    void unwrap_ToConnection_ShouldReturnTheProxySoItsCloseStillReleases() throws Exception {
+        when(target.getConnection()).thenReturn(raw);
+        BoundedDataSource dataSource = new BoundedDataSource(target, 1, 1000);
+        Connection connection = dataSource.getConnection();
+
+        Connection unwrapped = connection.unwrap(Connection.class);
+        assertThat(unwrapped).isSameAs(connection);
+        assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+
+        unwrapped.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
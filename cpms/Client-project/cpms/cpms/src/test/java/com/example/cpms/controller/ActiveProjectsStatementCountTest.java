@@ -0,0 +1,14 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// GET /api/projects/active
+class ActiveProjectsStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void activeProjects_ShouldUseOneRangeQuery() throws Exception {
+        assertStatements(get("/api/projects/active?from=2024-01-01&to=2024-12-31"), 1);
+    }
+}
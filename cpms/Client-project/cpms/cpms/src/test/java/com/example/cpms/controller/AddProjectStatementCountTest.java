@@ -0,0 +1,20 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// POST /api/projects
+class AddProjectStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void addProject_ShouldNotLoadOwnerOrProjects() throws Exception {
+        primeSequence(projectRepository, i -> newProject("Primer " + i, clients.get(1)));
+
+        String body = "{\"title\":\"New\",\"status\":\"IN_PROGRESS\",\"clientId\":" + clients.get(0).getId() + "}";
+        // client lookup, insert (duplicates are left to the unique constraint), counter update,
+        // owner version bump
+        assertStatements(post("/api/projects").contentType(MediaType.APPLICATION_JSON).content(body), 4);
+    }
+}
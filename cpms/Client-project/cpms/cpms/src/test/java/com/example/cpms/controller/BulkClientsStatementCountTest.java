@@ -0,0 +1,35 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /api/clients/bulk
+class BulkClientsStatementCountTest extends StatementCountTestSupport {
+
+    private static final int ROWS = 40;
+
+    @Test
+    void bulkClients_ShouldCheckDuplicatesPerBatchAndBatchInserts() throws Exception {
+        // One fresh id block covers all rows
+        primeSequence(clientRepository, i -> newClient("Primer " + i, "primer" + i + "@example.com"));
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < ROWS; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Bulk ").append(i)
+                    .append("\",\"email\":\"bulk").append(i)
+                    .append("@example.com\",\"phone\":\"555\",\"companyName\":\"Bulk\"}");
+        }
+        body.append("]");
+
+        mockMvc.perform(withOwner(post("/api/clients/bulk").contentType(MediaType.APPLICATION_JSON).content(body.toString())))
+                .andExpect(status().isOk());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // email and name duplicate checks, one batched insert statement, owner version bump
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+
+// DELETE /api/projects/{id}
+class DeleteProjectStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void deleteProject_ShouldLoadScopedThenDeleteAndDecrement() throws Exception {
+        // scoped project lookup, delete, counter decrement, owner version bump
+        assertStatements(delete("/api/projects/" + projects.get(0).getId()), 4);
+    }
+}
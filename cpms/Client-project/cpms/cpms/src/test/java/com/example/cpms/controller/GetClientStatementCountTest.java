@@ -0,0 +1,57 @@
+package com.example.cpms.controller;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/clients/{id}
+class GetClientStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void getClient_ShouldNotLoadOwner() throws Exception {
+        // version for the ETag, then the client
+        assertStatements(get("/api/clients/" + clients.get(0).getId()), 2);
+    }
+
+    @Test
+    void getClient_OfAnotherOwner_ShouldStayForbidden() throws Exception {
+        AuthenticatedUser stranger = new AuthenticatedUser(owner.getId() + 1000, "stranger@example.com", Role.USER);
+
+        mockMvc.perform(as(stranger, get("/api/clients/" + clients.get(0).getId())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(stranger, get("/api/clients/" + (clients.get(CLIENTS - 1).getId() + 1000))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getClient_WithEtag_ShouldAnswer304AndRejectStaleIfMatch() throws Exception {
+        String url = "/api/clients/" + clients.get(0).getId();
+        String etag = mockMvc.perform(withOwner(get(url)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The version is all a 304 needs
+        statistics.clear();
+        mockMvc.perform(withOwner(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        String body = "{\"name\":\"Renamed\",\"email\":\"client0@example.com\",\"phone\":\"555-0000\",\"companyName\":\"Company\"}";
+        mockMvc.perform(withOwner(put(url).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body)))
+                .andExpect(status().isOk());
+        // The first update moved the version, the same If-Match is now stale
+        mockMvc.perform(withOwner(put(url).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(withOwner(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// GET /api/clients
+class ListClientsStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void listClients_ShouldNotLoadOwners() throws Exception {
+        // owner version for the ETag, then the page
+        assertStatements(get("/api/clients"), 2);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/projects
+class ListProjectsStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void listProjects_ShouldFetchClientsInTheSameQuery() throws Exception {
+        // owner version for the ETag, then the page
+        assertStatements(get("/api/projects"), 2);
+    }
+
+    @Test
+    void listProjects_WithCurrentEtag_ShouldAnswer304WithoutAnyStatement() throws Exception {
+        String etag = mockMvc.perform(withOwner(get("/api/projects")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        // The cached entry carries its ETag, so not even the version is read
+        statistics.clear();
+        mockMvc.perform(withOwner(get("/api/projects").header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Any write of the owner moves the version
+        mockMvc.perform(withOwner(delete("/api/projects/" + projects.get(0).getId())))
+                .andExpect(status().isOk());
+        mockMvc.perform(withOwner(get("/api/projects").header(HttpHeaders.IF_NONE_MATCH, etag)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listProjects_Repeated_ShouldBeServedFromTheResponseCacheUntilAWrite() throws Exception {
+        mockMvc.perform(withOwner(get("/api/projects?limit=5"))).andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(withOwner(get("/api/projects?limit=5")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(5));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // The delete commits, bumps the owner's generation and the next read goes to the database
+        mockMvc.perform(withOwner(delete("/api/projects/" + projects.get(0).getId())))
+                .andExpect(status().isOk());
+        statistics.clear();
+        mockMvc.perform(withOwner(get("/api/projects?limit=5"))).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/projects/stats
+class ProjectStatsStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void projectStats_ShouldReadCountersAndOverdueOnly() throws Exception {
+        mockMvc.perform(withOwner(get("/api/projects/stats")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(CLIENTS * PROJECTS_PER_CLIENT))
+                .andExpect(jsonPath("$.data.byStatus.IN_PROGRESS").value(CLIENTS * PROJECTS_PER_CLIENT));
+        // counter rows, overdue per client, totals per owner
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// GET /api/projects/client/{clientId}
+class ProjectsByClientStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void projectsByClient_ShouldLoadVersionClientThenProjects() throws Exception {
+        // owner version for the ETag, the client existence check, then the projects
+        assertStatements(get("/api/projects/client/" + clients.get(0).getId()), 3);
+    }
+}
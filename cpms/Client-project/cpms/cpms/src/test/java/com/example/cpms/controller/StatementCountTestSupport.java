@@ -0,0 +1,171 @@
+package com.example.cpms.controller;
+
+import com.example.cpms.entity.ClientEntity;
+import com.example.cpms.entity.OwnerVersionEntity;
+import com.example.cpms.entity.ProjectEntity;
+import com.example.cpms.entity.ProjectStatus;
+import com.example.cpms.entity.Role;
+import com.example.cpms.entity.UserEntity;
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.OwnerVersionRepository;
+import com.example.cpms.repository.ProjectCounterRepository;
+import com.example.cpms.repository.ProjectRepository;
+import com.example.cpms.repository.UserRepository;
+import com.example.cpms.security.AuthenticatedUser;
+import com.example.cpms.service.ProjectCounterService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Shared fixture for the per-endpoint statement count tests: one owner with 5 clients of
+ * 4 projects each, counters rebuilt and Hibernate statistics cleared before every test.
+ * Each subclass pins the exact number of SQL statements of one endpoint, so an association
+ * that starts loading row by row again (N+1) or an extra round trip fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class StatementCountTestSupport {
+
+    protected static final int CLIENTS = 5;
+    protected static final int PROJECTS_PER_CLIENT = 4;
+
+    // allocationSize of the pooled id sequences
+    private static final int ID_BLOCK = 50;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ClientRepository clientRepository;
+
+    @Autowired
+    protected ProjectRepository projectRepository;
+
+    @Autowired
+    protected ProjectCounterRepository projectCounterRepository;
+
+    @Autowired
+    protected ProjectCounterService projectCounterService;
+
+    @Autowired
+    protected OwnerVersionRepository ownerVersionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected Statistics statistics;
+    protected UserEntity ownerEntity;
+    protected AuthenticatedUser owner;
+    protected List<ClientEntity> clients;
+    protected List<ProjectEntity> projects;
+
+    @BeforeEach
+    void setUpFixture() {
+        projectCounterRepository.deleteAll();
+        ownerVersionRepository.deleteAll();
+        projectRepository.deleteAll();
+        clientRepository.deleteAll();
+        userRepository.deleteAll();
+
+        UserEntity user = new UserEntity();
+        user.setName("Owner");
+        user.setEmail("owner@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+        ownerEntity = userRepository.save(user);
+        owner = AuthenticatedUser.from(ownerEntity);
+
+        // Existing version row, so a write costs one UPDATE to bump it
+        OwnerVersionEntity ownerVersion = new OwnerVersionEntity();
+        ownerVersion.setUserId(ownerEntity.getId());
+        ownerVersionRepository.save(ownerVersion);
+
+        clients = new ArrayList<>();
+        projects = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            ClientEntity client = clientRepository.save(newClient("Client " + c, "client" + c + "@example.com"));
+            clients.add(client);
+
+            for (int p = 0; p < PROJECTS_PER_CLIENT; p++) {
+                projects.add(projectRepository.save(newProject("Project " + c + "-" + p, client)));
+            }
+        }
+
+        // Seeded through the repositories, so the counters come from the rebuild
+        projectCounterService.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    protected ClientEntity newClient(String name, String email) {
+        ClientEntity client = new ClientEntity();
+        client.setName(name);
+        client.setEmail(email);
+        client.setPhone("555-0000");
+        client.setCompanyName("Company");
+        client.setUser(ownerEntity);
+        return client;
+    }
+
+    protected ProjectEntity newProject(String title, ClientEntity client) {
+        ProjectEntity project = new ProjectEntity();
+        project.setTitle(title);
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        project.setClient(client);
+        project.setUser(ownerEntity);
+        return project;
+    }
+
+    // Saves throw-away rows until one of them fetches a new id block, so an insert endpoint
+    // measured next draws its ids from memory wherever the pooled optimizer happened to be
+    protected <T> void primeSequence(JpaRepository<T, Long> repository, IntFunction<T> factory) {
+        List<T> primers = new ArrayList<>();
+        boolean fetched = false;
+        for (int i = 0; i <= ID_BLOCK && !fetched; i++) {
+            long before = statistics.getPrepareStatementCount();
+            primers.add(repository.saveAndFlush(factory.apply(i)));
+            fetched = statistics.getPrepareStatementCount() - before > 1;
+        }
+        assertThat(fetched).as("sequence call while priming").isTrue();
+        repository.deleteAll(primers);
+        statistics.clear();
+    }
+
+    protected void assertStatements(MockHttpServletRequestBuilder request, long expected) throws Exception {
+        mockMvc.perform(withOwner(request)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+
+    protected MockHttpServletRequestBuilder withOwner(MockHttpServletRequestBuilder request) {
+        return as(owner, request);
+    }
+
+    protected MockHttpServletRequestBuilder as(AuthenticatedUser user, MockHttpServletRequestBuilder request) {
+        UsernamePasswordAuthenticationToken token =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        return request.with(authentication(token));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.cpms.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// PUT /api/projects/{id}
+class UpdateProjectStatementCountTest extends StatementCountTestSupport {
+
+    @Test
+    void updateProject_ShouldLoadProjectWithClient() throws Exception {
+        String body = "{\"title\":\"Renamed\",\"status\":\"IN_PROGRESS\",\"clientId\":" + clients.get(0).getId() + "}";
+        // project joined with its client, versioned update, owner version bump;
+        // same client and status so the counters are untouched
+        assertStatements(put("/api/projects/" + projects.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON).content(body), 3);
+    }
+}
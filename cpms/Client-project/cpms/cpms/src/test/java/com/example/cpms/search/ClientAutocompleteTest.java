@@ -0,0 +1,46 @@
+package com.example.cpms.search;
+
+import com.example.cpms.dto.ClientSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientAutocompleteTest {
+
+    private ClientAutocomplete autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new ClientAutocomplete();
+        autocomplete.put(new ClientDocument(1L, 10L, "Acme Corp", "Acme", "a@acme.com"));
+        autocomplete.put(new ClientDocument(2L, 10L, "Ada Lovelace", "Analytical Engines", "ada@ae.com"));
+        autocomplete.put(new ClientDocument(3L, 10L, "Bob", "Acme Labs", "bob@labs.io"));
+        autocomplete.put(new ClientDocument(4L, 20L, "Acorn", "Acorn Ltd", "info@acorn.io"));
+    }
+
+    @Test
+    void suggest_ShouldMatchNameOrCompanyInKeyOrderForTheOwner() {
+        assertThat(autocomplete.suggest("AC", 10L, 10)).extracting(ClientSuggestion::getId)
+                .containsExactly(1L, 3L);
+        assertThat(autocomplete.suggest("a", 10L, 10)).extracting(ClientSuggestion::getId)
+                .containsExactly(1L, 3L, 2L);
+        assertThat(autocomplete.suggest("a", 10L, 2)).hasSize(2);
+        assertThat(autocomplete.suggest("acme labsx", 10L, 10)).isEmpty();
+        assertThat(autocomplete.suggest("ac", null, 10)).extracting(ClientSuggestion::getId)
+                .containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    void putAndRemove_ShouldDropOldKeys() {
+        autocomplete.put(new ClientDocument(1L, 10L, "Globex", "Globex", "g@globex.com"));
+        assertThat(autocomplete.suggest("acme", 10L, 10)).extracting(ClientSuggestion::getId).containsExactly(3L);
+        assertThat(autocomplete.suggest("glo", 10L, 10)).extracting(ClientSuggestion::getName).containsExactly("Globex");
+
+        autocomplete.remove(3L);
+        autocomplete.remove(4L);
+        assertThat(autocomplete.suggest("ac", null, 10)).isEmpty();
+        assertThat(autocomplete.suggest("ad", 10L, 10)).extracting(ClientSuggestion::getId).containsExactly(2L);
+        assertThat(autocomplete.size()).isEqualTo(2);
+    }
+}
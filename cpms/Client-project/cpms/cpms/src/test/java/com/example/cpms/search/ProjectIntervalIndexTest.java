@@ -0,0 +1,51 @@
+package com.example.cpms.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectIntervalIndexTest {
+
+    private ProjectIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProjectIntervalIndex();
+        index.put(project(1L, 10L, "2024-01-01", "2024-03-31"));
+        index.put(project(2L, 10L, "2024-03-01", "2024-06-30"));
+        index.put(project(3L, 10L, "2024-07-01", null));
+        index.put(project(4L, 20L, "2024-02-01", "2024-02-29"));
+        index.put(project(5L, 10L, null, "2024-12-31"));
+    }
+
+    @Test
+    void findActive_ShouldReturnOverlapsByIdForTheOwner() {
+        assertThat(index.findActive(10L, date("2024-03-15"), date("2024-03-20"), 0L, 10)).containsExactly(1L, 2L);
+        assertThat(index.findActive(10L, date("2024-06-30"), date("2024-07-01"), 0L, 10)).containsExactly(2L, 3L);
+        assertThat(index.findActive(10L, date("2030-01-01"), date("2030-01-01"), 0L, 10)).containsExactly(3L);
+        assertThat(index.findActive(null, date("2024-02-15"), date("2024-02-15"), 0L, 10)).containsExactly(1L, 4L);
+        assertThat(index.findActive(null, date("2024-01-01"), date("2024-12-31"), 1L, 2)).containsExactly(2L, 3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void putAndRemove_ShouldMoveAndDropIntervals() {
+        index.put(project(1L, 10L, "2025-01-01", "2025-01-31"));
+        index.remove(4L);
+
+        assertThat(index.findActive(null, date("2024-02-15"), date("2024-02-15"), 0L, 10)).isEmpty();
+        assertThat(index.findActive(10L, date("2025-01-10"), date("2025-01-10"), 0L, 10)).containsExactly(1L, 3L);
+    }
+
+    private static ProjectDocument project(Long id, Long ownerId, String start, String end) {
+        return new ProjectDocument(id, ownerId, "Project " + id, null,
+                start == null ? null : date(start), end == null ? null : date(end));
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.cpms.search;
+
+import com.example.cpms.repository.ClientRepository;
+import com.example.cpms.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchIndexListenerTest {
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final ClientAutocomplete clientAutocomplete = new ClientAutocomplete();
+    private SearchIndexListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SearchIndexListener(searchIndex, clientAutocomplete, clientRepository, projectRepository);
+    }
+
+    @Test
+    void rebuild_WithADeleteCommittedDuringTheLoad_ShouldNotBringTheClientBack() {
+        ClientDocument doc = new ClientDocument(1L, 10L, "Acme", "Acme Corp", "a@acme.com");
+        // The load read the row, then the delete commits before the load has put it
+        when(clientRepository.streamSearchDocuments()).thenReturn(Stream.of(doc)
+                .peek(d -> listener.onClientChanged(ClientChangedEvent.deleted(d.id()))));
+        when(projectRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+
+        listener.rebuild();
+
+        assertThat(searchIndex.search("acme", 10L, 20)).isEmpty();
+        assertThat(clientAutocomplete.size()).isZero();
+    }
+
+    @Test
+    void onProjectChanged_AfterTheLoad_ShouldApplyStraightAway() {
+        when(clientRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        when(projectRepository.streamSearchDocuments()).thenReturn(Stream.empty());
+        listener.rebuild();
+
+        listener.onProjectChanged(ProjectChangedEvent.saved(
+                new ProjectDocument(5L, 10L, "Website", null, null, null)));
+
+        assertThat(searchIndex.search("web", 10L, 20)).hasSize(1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.cpms.search;
+
+import com.example.cpms.dto.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.putClient(new ClientDocument(1L, 10L, "John Smith", "Acme Corp", "john@acme.com"));
+        index.putClient(new ClientDocument(2L, 20L, "Jane Doe", "Acme Labs", "jane@labs.io"));
+        index.putProject(new ProjectDocument(5L, 10L, "Website redesign", "New landing page for Acme", null, null));
+    }
+
+    @Test
+    void search_ShouldMatchEveryWordByPrefixAndRespectOwner() {
+        List<SearchHit> hits = index.search("acm", 10L, 20);
+
+        assertThat(hits).extracting(SearchHit::getType, SearchHit::getId)
+                .containsExactly(tuple("CLIENT", 1L),
+                        tuple("PROJECT", 5L));
+        assertThat(index.search("acme lab", null, 20)).extracting(SearchHit::getId).containsExactly(2L);
+        assertThat(index.search("acme lab", 10L, 20)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove_ShouldReplaceOldTokens() {
+        index.putClient(new ClientDocument(1L, 10L, "John Smith", "Globex", "john@globex.com"));
+        assertThat(index.search("acme", 10L, 20)).extracting(SearchHit::getId).containsExactly(5L);
+        assertThat(index.search("globex", 10L, 20)).extracting(SearchHit::getId).containsExactly(1L);
+
+        index.removeProject(5L);
+        assertThat(index.search("landing", null, 20)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void put_WithNewOwner_ShouldMoveTheDocumentToThatOwnersPostings() {
+        index.putClient(new ClientDocument(1L, 20L, "John Smith", "Acme Corp", "john@acme.com"));
+
+        assertThat(index.search("john", 10L, 20)).isEmpty();
+        assertThat(index.search("john", 20L, 20)).extracting(SearchHit::getId).containsExactly(1L);
+        assertThat(index.search("acme", null, 20)).extracting(SearchHit::getId).containsExactly(1L, 2L, 5L);
+    }
+}
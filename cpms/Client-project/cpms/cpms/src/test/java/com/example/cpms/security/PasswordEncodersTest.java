@@ -0,0 +1,68 @@
+package com.example.cpms.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    private static final String PASSWORD = "secret123";
+
+    @Test
+    void calibrate_WithAnUnreachableTarget_ShouldPickTheMinimum() {
+        assertThat(PasswordEncoders.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+    }
+
+    @Test
+    void calibrate_WithAGenerousTarget_ShouldPickTheMaximum() {
+        assertThat(PasswordEncoders.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+
+    @Test
+    void upgradeEncoding_ShouldRehashOnlyCostsOutsideTheAcceptedRange() {
+        PasswordEncoder encoder = PasswordEncoders.create(5, 5, 6);
+
+        assertThat(encoder.upgradeEncoding(bcrypt(4))).isTrue();
+        assertThat(encoder.upgradeEncoding(bcrypt(5))).isFalse();
+        assertThat(encoder.upgradeEncoding(bcrypt(6))).isFalse();
+        assertThat(encoder.upgradeEncoding(bcrypt(7))).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_WithAPinnedStrength_ShouldRehashEveryOtherCost() {
+        PasswordEncoder encoder = PasswordEncoders.create(5);
+
+        assertThat(encoder.upgradeEncoding(bcrypt(4))).isTrue();
+        assertThat(encoder.upgradeEncoding(bcrypt(5))).isFalse();
+        assertThat(encoder.upgradeEncoding(bcrypt(6))).isTrue();
+    }
+
+    @Test
+    void legacyHashes_ShouldMatchAndBeRehashed() {
+        PasswordEncoder encoder = PasswordEncoders.create(5, 5, 6);
+        String unprefixed = new BCryptPasswordEncoder(5).encode(PASSWORD);
+        String pbkdf2 = "{" + PasswordEncoders.PBKDF2 + "}"
+                + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD);
+
+        assertThat(encoder.matches(PASSWORD, unprefixed)).isTrue();
+        assertThat(encoder.upgradeEncoding(unprefixed)).isTrue();
+        assertThat(encoder.matches(PASSWORD, pbkdf2)).isTrue();
+        assertThat(encoder.upgradeEncoding(pbkdf2)).isTrue();
+    }
+
+    @Test
+    void create_WithAStrengthOutsideTheRange_ShouldFail() {
+        assertThatThrownBy(() -> PasswordEncoders.create(7, 5, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String bcrypt(int cost) {
+        return "{" + PasswordEncoders.BCRYPT + "}" + new BCryptPasswordEncoder(cost).encode(PASSWORD);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.cpms.security;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.security.RateLimiter.Group;
+import com.example.cpms.security.RateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    // USER: 10/s on projects with a 1s burst, nothing else limited
+    private final RateLimiter limiter = new RateLimiter(
+            Map.of(Role.USER, Map.of(Group.PROJECTS, Limit.of(10, Duration.ofSeconds(1)))),
+            1000, Duration.ofMinutes(10), now::get);
+
+    @Test
+    void burst_ShouldBeAllowedThenRefillAtTheRate() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(1L, Role.USER, Group.PROJECTS)).isZero();
+        }
+        long wait = limiter.tryAcquire(1L, Role.USER, Group.PROJECTS);
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now.addAndGet(wait);
+        assertThat(limiter.tryAcquire(1L, Role.USER, Group.PROJECTS)).isZero();
+        assertThat(limiter.tryAcquire(1L, Role.USER, Group.PROJECTS)).isPositive();
+    }
+
+    @Test
+    void buckets_ShouldBePerUserAndGroup() {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(1L, Role.USER, Group.PROJECTS);
+        }
+        assertThat(limiter.tryAcquire(1L, Role.USER, Group.PROJECTS)).isPositive();
+
+        assertThat(limiter.tryAcquire(2L, Role.USER, Group.PROJECTS)).isZero();
+        assertThat(limiter.tryAcquire(1L, Role.USER, Group.CLIENTS)).isZero();
+        assertThat(limiter.tryAcquire(1L, Role.ADMIN, Group.PROJECTS)).isZero();
+    }
+
+    @Test
+    void group_ShouldMatchWholePathSegments() {
+        assertThat(Group.of("/api/projects")).isEqualTo(Group.PROJECTS);
+        assertThat(Group.of("/api/projects/active")).isEqualTo(Group.PROJECTS);
+        assertThat(Group.of("/api/clients/7")).isEqualTo(Group.CLIENTS);
+        assertThat(Group.of("/api/clientsx")).isEqualTo(Group.OTHER);
+        assertThat(Group.of("/api/search")).isEqualTo(Group.OTHER);
+    }
+}
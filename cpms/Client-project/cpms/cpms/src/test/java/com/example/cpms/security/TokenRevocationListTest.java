@@ -0,0 +1,167 @@
+package com.example.cpms.security;
+
+import com.example.cpms.entity.Role;
+import com.example.cpms.repository.RevokedTokenRepository;
+import com.example.cpms.repository.TokenCutoffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private static final String SECRET = "d5c6d5356bff603e012b64a982e4c1b0e80101191dd858b0807f2d1fa3c8839a";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, Duration.ofMinutes(15), Duration.ofDays(7));
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final TokenCutoffRepository tokenCutoffRepository = mock(TokenCutoffRepository.class);
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = revocationList(Clock.systemUTC());
+        when(revokedTokenRepository.insertIfAbsent(any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void revoke_ShouldRejectOnlyThatToken() {
+        ParsedToken loggedOut = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        ParsedToken other = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+
+        revocationList.revoke(loggedOut);
+
+        assertThat(revocationList.isRevoked(loggedOut)).isTrue();
+        assertThat(revocationList.isRevoked(other)).isFalse();
+        verify(revokedTokenRepository).insertIfAbsent(any(), any());
+    }
+
+    @Test
+    void claim_ShouldSucceedOnlyOnce() {
+        ParsedToken refresh = jwtUtil.parse(jwtUtil.generateRefreshToken("a@example.com", 1L));
+
+        assertThat(revocationList.claim(refresh)).isTrue();
+        assertThat(revocationList.claim(refresh)).isFalse();
+        assertThat(revocationList.isRevoked(refresh)).isTrue();
+    }
+
+    @Test
+    void claim_FromConcurrentRequests_ShouldLetExactlyOneThrough() {
+        ParsedToken refresh = jwtUtil.parse(jwtUtil.generateRefreshToken("a@example.com", 1L));
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> claims = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            claims.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return revocationList.claim(refresh);
+            }));
+        }
+        start.countDown();
+
+        assertThat(claims.stream().filter(CompletableFuture::join).count()).isEqualTo(1);
+    }
+
+    @Test
+    void claim_WhenAnotherInstanceStoredItFirst_ShouldFail() {
+        ParsedToken refresh = jwtUtil.parse(jwtUtil.generateRefreshToken("a@example.com", 1L));
+        when(revokedTokenRepository.insertIfAbsent(any(), any())).thenReturn(0);
+
+        assertThat(revocationList.claim(refresh)).isFalse();
+        assertThat(revocationList.isRevoked(refresh)).isTrue();
+    }
+
+    @Test
+    void revokeAll_ShouldRejectEveryTokenOfTheUserIssuedSoFar() {
+        ParsedToken access = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        ParsedToken refresh = jwtUtil.parse(jwtUtil.generateRefreshToken("a@example.com", 1L));
+        ParsedToken otherUser = jwtUtil.parse(jwtUtil.generateToken("b@example.com", "B", 2L, Role.USER));
+
+        revocationList.revokeAll(1L);
+
+        assertThat(revocationList.isRevoked(access)).isTrue();
+        assertThat(revocationList.isRevoked(refresh)).isTrue();
+        assertThat(revocationList.isRevoked(otherUser)).isFalse();
+        assertThat(revocationList.claim(refresh)).isFalse();
+    }
+
+    @Test
+    void revokeAll_InATransaction_ShouldTakeEffectOnlyAfterCommit() {
+        ParsedToken access = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationList.revokeAll(1L);
+            // A rollback never calls afterCommit, so the user keeps their tokens
+            assertThat(revocationList.isRevoked(access)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(revocationList.isRevoked(access)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isRevoked_WithTheUserIdFromElsewhere_ShouldApplyTheCutoff() {
+        ParsedToken access = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+
+        revocationList.revokeAll(1L);
+
+        assertThat(revocationList.isRevoked(access, 1L)).isTrue();
+        assertThat(revocationList.isRevoked(access, 2L)).isFalse();
+    }
+
+    @Test
+    void revokeAll_ShouldAcceptTokensIssuedAfterTheCutoff() {
+        // Issue times are whole seconds and the cutoff is the next one, so revoke a few seconds back
+        revocationList = revocationList(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(-5)));
+        revocationList.revokeAll(1L);
+
+        ParsedToken afterLogin = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        assertThat(revocationList.isRevoked(afterLogin)).isFalse();
+    }
+
+    @Test
+    void purge_ShouldKeepTokensThatHaveNotExpired() {
+        ParsedToken token = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        revocationList.revoke(token);
+
+        revocationList.purge();
+
+        assertThat(revocationList.isRevoked(token)).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void purge_ShouldForgetExpiredTokens() {
+        revocationList = revocationList(Clock.offset(Clock.systemUTC(), Duration.ofHours(1)));
+        ParsedToken token = jwtUtil.parse(jwtUtil.generateToken("a@example.com", "A", 1L, Role.USER));
+        revocationList.revoke(token);
+
+        revocationList.purge();
+
+        assertThat(revocationList.size()).isZero();
+    }
+
+    private TokenRevocationList revocationList(Clock clock) {
+        TokenRevocationList list = new TokenRevocationList(
+                revokedTokenRepository, tokenCutoffRepository, Duration.ofDays(7), 1000, clock);
+        list.afterPropertiesSet();
+        return list;
+    }
+}